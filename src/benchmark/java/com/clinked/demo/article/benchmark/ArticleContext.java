@@ -0,0 +1,73 @@
+package com.clinked.demo.article.benchmark;
+
+import com.clinked.demo.article.ArticleApplication;
+import com.clinked.demo.article.service.ArticleService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Application context on an in-memory H2 database seeded with articles
+ * published over the last seven days.
+ */
+@State(Scope.Benchmark)
+public class ArticleContext {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private static final long WEEK_SECONDS = 7L * 24 * 60 * 60;
+
+    @Param({"1000", "100000", "1000000"})
+    public int weeklyArticles;
+
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ArticleApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        seed(context.getBean(JdbcTemplate.class), weeklyArticles);
+        context.getBean(ArticleService.class).rebuildState();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    static void seed(JdbcTemplate jdbcTemplate, int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long id = 1; id <= count; id++) {
+            batch.add(new Object[]{id, "Title" + id, "Author" + random.nextInt(1000), "Content" + id,
+                    Timestamp.valueOf(now.minusSeconds((long) (random.nextDouble() * WEEK_SECONDS)))});
+            if (batch.size() == SEED_BATCH_SIZE || id == count) {
+                jdbcTemplate.batchUpdate("INSERT INTO ARTICLE (ID, TITLE, AUTHOR, CONTENT, PUBLISHING_DATE) "
+                        + "VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE ARTICLE_SEQ RESTART WITH " + (count + 100));
+    }
+}
@@ -0,0 +1,66 @@
+package com.clinked.demo.article.benchmark;
+
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.mapper.ArticleMapperImpl;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.entity.Article;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per row cost of mapping an article, reflective ModelMapper against the
+ * generated ArticleMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArticleMapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final ArticleMapper articleMapper = new ArticleMapperImpl();
+
+    private Article article;
+
+    private ArticleDto articleDto;
+
+    @Setup
+    public void setUp() {
+        article = new Article();
+        article.setId(1L);
+        article.setTitle("Title");
+        article.setAuthor("Author");
+        article.setContent("Content");
+        article.setPublishingDate(ZonedDateTime.now());
+        articleDto = articleMapper.toDto(article);
+    }
+
+    @Benchmark
+    public ArticleDto modelMapperToDto() {
+        return modelMapper.map(article, ArticleDto.class);
+    }
+
+    @Benchmark
+    public ArticleDto articleMapperToDto() {
+        return articleMapper.toDto(article);
+    }
+
+    @Benchmark
+    public Article modelMapperToEntity() {
+        return modelMapper.map(articleDto, Article.class);
+    }
+
+    @Benchmark
+    public Article articleMapperToEntity() {
+        return articleMapper.toEntity(articleDto);
+    }
+}
@@ -0,0 +1,87 @@
+package com.clinked.demo.article.benchmark;
+
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.StatisticsDto;
+import com.clinked.demo.article.service.ArticleService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArticleService hot paths on a database seeded with ArticleContext.weeklyArticles
+ * articles, run with the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ArticleServiceBenchmark {
+
+    private ArticleService articleService;
+
+    private ObjectMapper objectMapper;
+
+    private Page<ArticleDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp(ArticleContext articleContext) {
+        articleService = articleContext.getBean(ArticleService.class);
+        objectMapper = articleContext.getBean(ObjectMapper.class);
+        page = articleService.getArticles(0, 100, null, null, null);
+    }
+
+    @Benchmark
+    public Page<ArticleDto> getArticlesFirstPage() {
+        return articleService.getArticles(0, 10, null, null, null);
+    }
+
+    @Benchmark
+    public Page<ArticleDto> getArticlesDeepPage() {
+        return articleService.getArticles(500, 10, null, null, null);
+    }
+
+    @Benchmark
+    public Page<ArticleDto> searchArticlesByKeyword() {
+        return articleService.searchArticles("title500", null, 0, 10);
+    }
+
+    @Benchmark
+    public Page<ArticleDto> searchArticlesByAuthor() {
+        return articleService.searchArticles(null, "author17", 0, 10);
+    }
+
+    @Benchmark
+    public StatisticsDto getStatisticsFromCounters() {
+        return articleService.getStatistics(null, null);
+    }
+
+    @Benchmark
+    public StatisticsDto getStatisticsAggregated() {
+        return articleService.getStatistics(7, "Europe/Istanbul");
+    }
+
+    @Benchmark
+    public ArticleDto createArticle() {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle("Title");
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+        return articleService.createArticle(articleDto);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,125 @@
+package com.clinked.demo.article.benchmark;
+
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.ArticlePageDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of writing a list page: Spring's Page with reflective ArticleDto
+ * serialization, as the list endpoint used to respond, against the compact
+ * ArticlePageDto with the hand-written ArticleDtoSerializer, in JSON, CBOR
+ * and Smile. Response sizes, raw and gzipped, are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter reflectiveWriter;
+
+    private ObjectWriter compactWriter;
+
+    private Page<ArticleDto> page;
+
+    private ArticlePageDto pageDto;
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface Reflective {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        ObjectMapper objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        compactWriter = objectMapper.writer();
+        reflectiveWriter = objectMapper.copy().addMixIn(ArticleDto.class, Reflective.class).writer();
+
+        List<ArticleDto> content = new ArrayList<>(PAGE_SIZE);
+        ZonedDateTime now = ZonedDateTime.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ArticleDto articleDto = new ArticleDto();
+            articleDto.setId((long) i);
+            articleDto.setTitle("Title " + i);
+            articleDto.setAuthor("Author " + (i % 10));
+            articleDto.setContent("Content of article " + i);
+            articleDto.setPublishingDate(now.minusHours(i));
+            content.add(articleDto);
+        }
+        page = new PageImpl<>(content,
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "publishingDate", "id")), 10_000);
+        pageDto = ArticlePageDto.builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(PAGE_SIZE)
+                .totalElements(10_000)
+                .totalPages(10_000 / PAGE_SIZE)
+                .build();
+
+        byte[] reflective = springPageReflective();
+        byte[] compact = compactPage();
+        System.out.printf("%n%s bytes per page: Page %d (gzip %d), ArticlePageDto %d (gzip %d)%n",
+                format, reflective.length, gzip(reflective).length, compact.length, gzip(compact).length);
+    }
+
+    @Benchmark
+    public byte[] springPageReflective() throws IOException {
+        return reflectiveWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] springPageSerializer() throws IOException {
+        return compactWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] compactPage() throws IOException {
+        return compactWriter.writeValueAsBytes(pageDto);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
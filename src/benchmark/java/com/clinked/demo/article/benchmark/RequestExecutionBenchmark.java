@@ -0,0 +1,119 @@
+package com.clinked.demo.article.benchmark;
+
+import com.clinked.demo.article.ArticleApplication;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent HTTP traffic against the application on platform or virtual
+ * request threads. The page cache is disabled so list requests block on
+ * JDBC, failed responses are reported as the failed counter. Use JMH -tg
+ * to oversubscribe Tomcat's 200 platform threads, e.g. -tg 192,64. The
+ * virtual mode needs a Java 21 runtime, e.g.
+ * -Dbenchmark.java=/path/to/jdk21/bin/java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RequestExecutionBenchmark {
+
+    private static final int ARTICLES = 10_000;
+
+    private static final int PAGES = 100;
+
+    private static final String ARTICLE = "{\"title\":\"Title\",\"author\":\"Author\",\"content\":\"Content\","
+            + "\"publishingDate\":\"2023-02-01T10:00:00Z\"}";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ArticleApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:requests;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--article.cache.maximum-articles=0",
+                        "--article.virtual-threads.enabled=" + "virtual".equals(threads),
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        ArticleContext.seed(context.getBean(JdbcTemplate.class), ARTICLES);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/article";
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(48)
+    public int listArticles(Responses responses) throws IOException, InterruptedException {
+        int pageNumber = ThreadLocalRandom.current().nextInt(PAGES);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/list?pageNumber=" + pageNumber)).GET(), responses);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(16)
+    public int createArticle(Responses responses) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ARTICLE)), responses);
+    }
+
+    private int send(HttpRequest.Builder request, Responses responses) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            responses.failed++;
+        }
+        return response.statusCode();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failed = 0;
+        }
+    }
+}
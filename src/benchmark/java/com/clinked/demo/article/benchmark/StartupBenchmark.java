@@ -0,0 +1,122 @@
+package com.clinked.demo.article.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching a new JVM until its first answered /article/list
+ * request: the war as deployed so far, the war with the startup profile, and
+ * the startup build with ahead-of-time processed classes and the class data
+ * sharing archive. Needs the artifacts of mvn -Pstartup package in target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+
+    @Param({"war", "war-startup-profile", "startup"})
+    public String launch;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private List<String> command;
+
+    private URI listUri;
+
+    private Process process;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        listUri = URI.create("http://localhost:" + port + "/article/list");
+
+        command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if ("startup".equals(launch)) {
+            command.add("-XX:SharedArchiveFile=" + TARGET.resolve("startup/application.jsa"));
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-cp");
+            command.add(find("-classes.jar") + File.pathSeparator + TARGET.resolve("startup/lib/*"));
+            command.add("com.clinked.demo.article.ArticleApplication");
+        } else {
+            command.add("-jar");
+            command.add(find(".war").toString());
+        }
+        if (!"war".equals(launch)) {
+            command.add("--spring.profiles.active=startup");
+        }
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup");
+        command.add("--spring.jpa.properties.hibernate.show_sql=false");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        HttpRequest request = HttpRequest.newBuilder(listUri).GET().build();
+        while (process.isAlive()) {
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (ConnectException ce) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application exited with " + process.exitValue());
+    }
+
+    private static Path find(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(TARGET)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(suffix))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No " + suffix + " in target, run mvn -Pstartup package"));
+        }
+    }
+}
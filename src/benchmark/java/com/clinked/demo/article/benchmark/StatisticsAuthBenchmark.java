@@ -0,0 +1,110 @@
+package com.clinked.demo.article.benchmark;
+
+import com.clinked.demo.article.ArticleApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests per second of the admin statistics endpoint by authentication:
+ * Basic credentials checked against the password hash on every request, as
+ * before the credential cache, Basic credentials with the cache, and a
+ * Bearer token issued once. Statistics are served from the daily counters,
+ * so authentication dominates. Failed responses are reported as the failed
+ * counter, use JMH -t for concurrent clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StatisticsAuthBenchmark {
+
+    @Param({"basic-uncached", "basic", "token"})
+    public String auth;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private URI statisticsUri;
+
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(ArticleApplication.class)
+                .run("--spring.datasource.url=jdbc:h2:mem:auth;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.properties.hibernate.show_sql=false",
+                        "--article.security.credential-cache-size=" + ("basic-uncached".equals(auth) ? 0 : 1000),
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        statisticsUri = URI.create("http://localhost:" + port + "/article/statistics");
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        String basic = "Basic " + Base64.getEncoder().encodeToString("admin:admin123".getBytes(StandardCharsets.UTF_8));
+        if ("token".equals(auth)) {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/article/token"))
+                    .header("Authorization", basic)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            authorization = "Bearer " + new ObjectMapper().readTree(response.body()).get("token").asText();
+        } else {
+            authorization = basic;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getStatistics(Responses responses) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(statisticsUri)
+                .header("Authorization", authorization)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            responses.failed++;
+        }
+        return response.statusCode();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failed = 0;
+        }
+    }
+}
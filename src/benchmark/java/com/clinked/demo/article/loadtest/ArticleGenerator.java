@@ -0,0 +1,207 @@
+package com.clinked.demo.article.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Synthetic articles resembling production: a few authors write most of
+ * them (Zipf distribution over the author pool), they are published mostly
+ * on weekdays during office hours, and titles and contents are made of words
+ * within the column lengths.
+ */
+public class ArticleGenerator {
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private static final int TITLE_LENGTH = 50;
+
+    private static final int CONTENT_LENGTH = 100;
+
+    private static final double WEEKEND_WEIGHT = 0.35;
+
+    private static final double[] HOUR_WEIGHTS = {
+            1, 1, 1, 1, 1, 2, 4, 8, 14, 18, 20, 19, 15, 17, 19, 18, 15, 11, 8, 6, 5, 4, 3, 2};
+
+    private static final String[] FIRST_NAMES = {
+            "Ada", "Alan", "Amir", "Ana", "Ben", "Carla", "Chen", "Dara", "Deniz", "Elif", "Emma", "Ewa",
+            "Farah", "Felix", "Grace", "Hana", "Ivan", "Jon", "Kai", "Lara", "Leo", "Lina", "Luca", "Maya",
+            "Mehmet", "Mia", "Nina", "Noah", "Omar", "Priya", "Rosa", "Sami", "Sara", "Tariq", "Tom", "Una",
+            "Vera", "Wei", "Yusuf", "Zoe"};
+
+    private static final String[] LAST_NAMES = {
+            "Adams", "Aydin", "Berg", "Brown", "Costa", "Demir", "Dubois", "Evans", "Fischer", "Garcia",
+            "Hansen", "Ito", "Jansen", "Kaya", "Khan", "Kim", "Kowalski", "Lee", "Lopez", "Martin", "Meyer",
+            "Moreau", "Nagy", "Novak", "Okafor", "Olsen", "Patel", "Petrov", "Quinn", "Rossi", "Sahin",
+            "Santos", "Silva", "Smith", "Tanaka", "Tran", "Weber", "Wong", "Yilmaz", "Zhang"};
+
+    private static final String[] WORDS = {
+            "agile", "analytics", "api", "architecture", "backlog", "budget", "campaign", "client", "cloud",
+            "collaboration", "compliance", "customer", "dashboard", "data", "deadline", "delivery", "design",
+            "document", "feedback", "forecast", "growth", "guide", "hiring", "insight", "integration",
+            "launch", "meeting", "metrics", "migration", "milestone", "mobile", "onboarding", "partner",
+            "platform", "portal", "pricing", "process", "product", "project", "quarter", "release", "report",
+            "research", "review", "roadmap", "sales", "security", "service", "sprint", "strategy", "support",
+            "team", "template", "timeline", "training", "update", "workflow", "workspace", "new", "weekly",
+            "annual", "better", "faster", "shared", "secure", "simple", "open", "final", "draft", "key"};
+
+    private final Random random;
+
+    private final double[] authorWeights;
+
+    private final double[] hourWeights;
+
+    public ArticleGenerator(long seed, int authors, double authorSkew) {
+        this.random = new Random(seed);
+        this.authorWeights = cumulative(authors, rank -> 1 / Math.pow(rank + 1, authorSkew));
+        this.hourWeights = cumulative(HOUR_WEIGHTS.length, hour -> HOUR_WEIGHTS[hour]);
+    }
+
+    /**
+     * Author drawn from the pool, the first ones most often
+     *
+     * @return author name
+     */
+    public String author() {
+        int rank = pick(authorWeights);
+        int names = FIRST_NAMES.length * LAST_NAMES.length;
+        String author = FIRST_NAMES[rank % FIRST_NAMES.length] + " "
+                + LAST_NAMES[(rank / FIRST_NAMES.length) % LAST_NAMES.length];
+        return rank < names ? author : author + " " + (rank / names + 1);
+    }
+
+    /**
+     * Title of two to seven words
+     *
+     * @return title
+     */
+    public String title() {
+        String title = words(2 + random.nextInt(6), TITLE_LENGTH);
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+    }
+
+    /**
+     * Content of 30 to 100 characters
+     *
+     * @return content
+     */
+    public String content() {
+        String content = words(Integer.MAX_VALUE, 29 + random.nextInt(CONTENT_LENGTH - 29));
+        return Character.toUpperCase(content.charAt(0)) + content.substring(1) + ".";
+    }
+
+    /**
+     * Publishing time between two days, weekdays and office hours more likely
+     *
+     * @param from first day
+     * @param to   last day
+     * @param zone zone of the days and hours
+     * @return publishing time
+     */
+    public Instant publishingDate(LocalDate from, LocalDate to, ZoneId zone) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        while (true) {
+            LocalDate day = from.plusDays((long) (random.nextDouble() * days));
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            if (!weekend || random.nextDouble() < WEEKEND_WEIGHT) {
+                return ZonedDateTime.of(day.atTime(pick(hourWeights), random.nextInt(60), random.nextInt(60)), zone)
+                        .toInstant();
+            }
+        }
+    }
+
+    /**
+     * Body of a create request published now
+     *
+     * @return article JSON, generated words need no escaping
+     */
+    public String articleJson() {
+        return "{\"title\":\"" + title() + "\",\"author\":\"" + author() + "\",\"content\":\"" + content()
+                + "\",\"publishingDate\":\"" + ZonedDateTime.now().toOffsetDateTime() + "\"}";
+    }
+
+    /**
+     * Insert articles after the highest id until the table holds count
+     * articles, and move the id sequence past them
+     *
+     * @param jdbcTemplate database of the application
+     * @param count        articles the table should hold
+     * @param from         first publishing day
+     * @param to           last publishing day
+     * @param zone         zone of the publishing days
+     * @return number of inserted articles
+     */
+    public long seed(JdbcTemplate jdbcTemplate, long count, LocalDate from, LocalDate to, ZoneId zone) {
+        long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ARTICLE", Long.class);
+        long id = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID), 0) FROM ARTICLE", Long.class);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long inserted = 0; inserted < count - existing; inserted++) {
+            batch.add(new Object[]{++id, title(), author(), content(),
+                    Timestamp.from(publishingDate(from, to, zone))});
+            if (batch.size() == SEED_BATCH_SIZE || inserted == count - existing - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO ARTICLE (ID, TITLE, AUTHOR, CONTENT, PUBLISHING_DATE) "
+                        + "VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (count > existing) {
+            jdbcTemplate.execute("ALTER SEQUENCE ARTICLE_SEQ RESTART WITH " + (id + 100));
+        }
+        return Math.max(0, count - existing);
+    }
+
+    /**
+     * Pick an index with the given weights
+     *
+     * @param cumulativeWeights weights summed up to each index
+     * @return index
+     */
+    public int pick(double[] cumulativeWeights) {
+        double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, value);
+        return Math.min(index < 0 ? -index - 1 : index, cumulativeWeights.length - 1);
+    }
+
+    /**
+     * Random number from the generator
+     *
+     * @param bound exclusive upper bound
+     * @return number below bound
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    static double[] cumulative(int size, IntToDoubleFunction weight) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += weight.applyAsDouble(i);
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    private String words(int count, int maxLength) {
+        StringBuilder text = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < count; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (text.length() + 1 + word.length() > maxLength) {
+                break;
+            }
+            text.append(' ').append(word);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,339 @@
+package com.clinked.demo.article.loadtest;
+
+import com.clinked.demo.article.ArticleApplication;
+import com.clinked.demo.article.service.ArticleService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Load test of the article endpoints. Starts the application on an H2 file
+ * database seeded with synthetic articles, or targets a running server, and
+ * sends a weighted mix of create, list and statistics requests at a fixed
+ * rate for a while. Requests leave on schedule whether or not earlier ones
+ * were answered, and latency is measured from the scheduled time, so a
+ * stalled server shows in the percentiles instead of slowing the load down.
+ * Prints count, errors, throughput and latency percentiles per endpoint.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@loadtest -Dloadtest.args="--articles=1000000 --rate=200 --duration=60s"
+ * </pre>
+ *
+ * Options, with defaults:
+ * <ul>
+ *     <li>--articles=1000000 articles the database is seeded up to</li>
+ *     <li>--from=one year ago, --to=today publishing days of the seeded articles</li>
+ *     <li>--authors=2000, --author-skew=1.0 author pool and Zipf exponent</li>
+ *     <li>--database=jdbc:h2:file:./target/loadtest/articledata database of the started application</li>
+ *     <li>--target=http://host:port running server to load instead, nothing is seeded</li>
+ *     <li>--rate=200 requests per second</li>
+ *     <li>--duration=60s, --warmup=10s measured time and time before it</li>
+ *     <li>--mix=create:10,list:70,statistics:20 endpoint weights</li>
+ *     <li>--max-outstanding=2000 unanswered requests beyond which scheduled requests are dropped</li>
+ *     <li>--timeout=10s request timeout</li>
+ *     <li>--credentials=admin:admin123 Basic credentials of the statistics requests</li>
+ *     <li>--histograms=directory to write the percentile distribution of every endpoint to</li>
+ * </ul>
+ * Other --spring.*, --server.* and --article.* options configure the started application.
+ */
+public class LoadTest {
+
+    private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final Map<String, String> options;
+
+    private final ArticleGenerator generator;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private URI baseUri;
+
+    private Duration timeout;
+
+    private String authorization;
+
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.generator = new ArticleGenerator(42, Integer.parseInt(option("authors", "2000")),
+                Double.parseDouble(option("author-skew", "1.0")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private Duration durationOption(String name, String defaultValue) {
+        String value = option(name, defaultValue);
+        return Duration.parse(value.startsWith("P") ? value : "PT" + value.toUpperCase());
+    }
+
+    void run() throws Exception {
+        timeout = durationOption("timeout", "10s");
+        authorization = "Basic " + Base64.getEncoder().encodeToString(
+                option("credentials", "admin:admin123").getBytes(StandardCharsets.UTF_8));
+        ConfigurableApplicationContext context = null;
+        try {
+            if (options.containsKey("target")) {
+                baseUri = URI.create(option("target", null));
+            } else {
+                context = startApplication();
+                baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            }
+            Map<String, Endpoint> endpoints = endpoints();
+            drive(endpoints);
+            report(endpoints, System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.url=" + option("database", "jdbc:h2:file:./target/loadtest/articledata"));
+        args.add("--spring.jpa.properties.hibernate.show_sql=false");
+        args.add("--server.port=0");
+        args.add("--logging.level.root=WARN");
+        options.forEach((name, value) -> {
+            if (name.startsWith("spring.") || name.startsWith("server.") || name.startsWith("article.")) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ArticleApplication.class)
+                .run(args.toArray(String[]::new));
+
+        LocalDate to = LocalDate.parse(option("to", LocalDate.now().toString()));
+        LocalDate from = LocalDate.parse(option("from", to.minusYears(1).toString()));
+        long articles = Long.parseLong(option("articles", "1000000"));
+        long started = System.nanoTime();
+        long seeded = generator.seed(context.getBean(JdbcTemplate.class), articles, from, to, ZoneId.systemDefault());
+        System.out.printf("Seeded %d articles published %s to %s in %d s%n", seeded, from, to,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        if (seeded > 0) {
+            context.getBean(ArticleService.class).rebuildState();
+        }
+        return context;
+    }
+
+    private Map<String, Endpoint> endpoints() {
+        Map<String, Supplier<HttpRequest>> requests = new HashMap<>();
+        requests.put("create", () -> request("/article")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(generator.articleJson()))
+                .build());
+        // most readers stay on the first page
+        requests.put("list", () -> request("/article/list?pageSize=10&pageNumber="
+                + (generator.nextInt(10) < 8 ? 0 : generator.nextInt(100)))
+                .GET()
+                .build());
+        requests.put("statistics", () -> request("/article/statistics?days=" + (generator.nextInt(4) == 0 ? 30 : 7))
+                .header("Authorization", authorization)
+                .GET()
+                .build());
+
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        for (String weighted : option("mix", "create:10,list:70,statistics:20").split(",")) {
+            String[] parts = weighted.split(":");
+            if (!requests.containsKey(parts[0])) {
+                throw new IllegalArgumentException("Unknown endpoint " + parts[0] + ", expected one of "
+                        + requests.keySet());
+            }
+            endpoints.put(parts[0], new Endpoint(parts[0], Double.parseDouble(parts[1]), requests.get(parts[0])));
+        }
+        return endpoints;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    /**
+     * Send requests on a fixed schedule from one thread, answers are recorded
+     * on the threads of the http client
+     */
+    private void drive(Map<String, Endpoint> endpoints) {
+        List<Endpoint> mix = List.copyOf(endpoints.values());
+        double[] weights = ArticleGenerator.cumulative(mix.size(), i -> mix.get(i).weight);
+        double rate = Double.parseDouble(option("rate", "200"));
+        long warmup = durationOption("warmup", "10s").toNanos();
+        long duration = durationOption("duration", "60s").toNanos();
+        int maxOutstanding = Integer.parseInt(option("max-outstanding", "2000"));
+
+        System.out.printf("Sending %.0f requests per second to %s for %d s after %d s warmup%n", rate, baseUri,
+                TimeUnit.NANOSECONDS.toSeconds(duration), TimeUnit.NANOSECONDS.toSeconds(warmup));
+        long start = System.nanoTime();
+        long measured = start + warmup;
+        long end = measured + duration;
+        long nextReport = start + REPORT_INTERVAL;
+        for (long sent = 0; ; sent++) {
+            long scheduled = start + (long) (sent * TimeUnit.SECONDS.toNanos(1) / rate);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (scheduled >= nextReport) {
+                nextReport += REPORT_INTERVAL;
+                System.out.printf("%4d s: %d sent, %d outstanding%n",
+                        TimeUnit.NANOSECONDS.toSeconds(scheduled - start), sent, outstanding.get());
+            }
+
+            Endpoint endpoint = mix.get(generator.pick(weights));
+            boolean counted = scheduled >= measured;
+            if (outstanding.get() >= maxOutstanding) {
+                if (counted) {
+                    endpoint.dropped.increment();
+                }
+                continue;
+            }
+            outstanding.incrementAndGet();
+            httpClient.sendAsync(endpoint.request.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (counted) {
+                            endpoint.record(scheduled, response == null ? 0 : response.statusCode());
+                        }
+                        outstanding.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        endpoints.values().forEach(e -> e.finish(duration));
+    }
+
+    private void report(Map<String, Endpoint> endpoints, PrintStream out) throws IOException {
+        out.printf("%n%-12s %9s %8s %8s %10s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "dropped",
+                "per second", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        for (Endpoint endpoint : endpoints.values()) {
+            Histogram histogram = endpoint.histogram;
+            total.add(histogram);
+            out.printf("%-12s %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint.name,
+                    histogram.getTotalCount(), endpoint.errors(), endpoint.dropped.sum(),
+                    histogram.getTotalCount() * 1e9 / endpoint.duration,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1e6);
+        }
+        out.printf("%-12s %9d %8s %8s %10s %9.2f %9.2f %9.2f %9.2f %9.2f%n", "all", total.getTotalCount(), "", "",
+                "", millis(total, 50), millis(total, 90), millis(total, 99), millis(total, 99.9),
+                total.getMaxValue() / 1e6);
+        for (Endpoint endpoint : endpoints.values()) {
+            if (endpoint.statuses.keySet().stream().anyMatch(status -> status < 200 || status >= 400)) {
+                Map<Integer, Long> statuses = new TreeMap<>();
+                endpoint.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+                out.printf("%s statuses (0 = no answer): %s%n", endpoint.name, statuses);
+            }
+        }
+
+        if (options.containsKey("histograms")) {
+            Path directory = Path.of(option("histograms", null));
+            Files.createDirectories(directory);
+            for (Endpoint endpoint : endpoints.values()) {
+                try (PrintStream file = new PrintStream(
+                        Files.newOutputStream(directory.resolve(endpoint.name + ".hgrm")))) {
+                    endpoint.histogram.outputPercentileDistribution(file, 1e6);
+                }
+            }
+            out.println("Percentile distributions in milliseconds written to " + directory);
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+
+    /**
+     * Requests of one endpoint and their latencies, recorded concurrently
+     */
+    private static final class Endpoint {
+
+        private final String name;
+
+        private final double weight;
+
+        private final Supplier<HttpRequest> request;
+
+        private final Recorder recorder = new Recorder(3);
+
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private final LongAdder dropped = new LongAdder();
+
+        private Histogram histogram;
+
+        private long duration;
+
+        private Endpoint(String name, double weight, Supplier<HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void record(long scheduled, int status) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status >= 200 && status < 400) {
+                recorder.recordValue(System.nanoTime() - scheduled);
+            }
+        }
+
+        private long errors() {
+            return statuses.entrySet().stream()
+                    .filter(e -> e.getKey() < 200 || e.getKey() >= 400)
+                    .mapToLong(e -> e.getValue().sum())
+                    .sum();
+        }
+
+        private void finish(long duration) {
+            this.histogram = recorder.getIntervalHistogram();
+            this.duration = duration;
+        }
+    }
+}
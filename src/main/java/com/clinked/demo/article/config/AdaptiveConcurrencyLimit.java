@@ -0,0 +1,131 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * Number of concurrent requests admitted, adapted to the latency of the
+ * repositories. Every repository call feeds a recent latency, averaged over
+ * about the last ten calls, and a usual latency, averaged over about the last
+ * thousand. When a request completes while the recent latency exceeds the usual
+ * one by the tolerance, the limit is lowered by a tenth, at most once per
+ * backoff interval. When a request completes with the limit in full use and
+ * latency normal, the limit grows by one per limit completions.
+ */
+public class AdaptiveConcurrencyLimit implements RepositoryMethodInvocationListener {
+
+    static final long BACKOFF_INTERVAL = Duration.ofMillis(100).toNanos();
+
+    private static final double BACKOFF = 0.9;
+
+    private static final double RECENT_WEIGHT = 0.1;
+
+    private static final double USUAL_WEIGHT = 0.001;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double latencyTolerance;
+
+    private final LongSupplier nanoTime;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong limit;
+
+    private final AtomicLong recentLatency = new AtomicLong();
+
+    private final AtomicLong usualLatency = new AtomicLong();
+
+    private final AtomicLong lastBackoff;
+
+    public AdaptiveConcurrencyLimit(ArticleProperties.ConcurrencyLimit properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(ArticleProperties.ConcurrencyLimit properties,
+                             MeterRegistry meterRegistry,
+                             LongSupplier nanoTime) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.latencyTolerance = properties.getLatencyTolerance();
+        this.nanoTime = nanoTime;
+        this.limit = new AtomicLong(Double.doubleToLongBits(
+                Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()))));
+        this.lastBackoff = new AtomicLong(nanoTime.getAsLong() - BACKOFF_INTERVAL);
+        Gauge.builder("article.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Concurrent requests admitted")
+                .register(meterRegistry);
+        Gauge.builder("article.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Concurrent requests in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admit a request when fewer than the limit are in progress
+     *
+     * @return true when admitted, the request must then be released
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > getLimit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Release an admitted request and adapt the limit
+     */
+    public void release() {
+        int inProgress = inFlight.getAndDecrement();
+        double recent = Double.longBitsToDouble(recentLatency.get());
+        double usual = Double.longBitsToDouble(usualLatency.get());
+        if (usual > 0 && recent > usual * latencyTolerance) {
+            long now = nanoTime.getAsLong();
+            long last = lastBackoff.get();
+            if (now - last >= BACKOFF_INTERVAL && lastBackoff.compareAndSet(last, now)) {
+                update(limit, l -> Math.max(minLimit, l * BACKOFF));
+            }
+        } else if (inProgress >= getLimit()) {
+            update(limit, l -> Math.min(maxLimit, l + 1 / l));
+        }
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation repositoryMethodInvocation) {
+        record(repositoryMethodInvocation.getDuration(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Feed the latency of a repository call into the averages
+     *
+     * @param nanos duration of the call
+     */
+    void record(long nanos) {
+        update(recentLatency, l -> l == 0 ? nanos : l + RECENT_WEIGHT * (nanos - l));
+        update(usualLatency, l -> l == 0 ? nanos : l + USUAL_WEIGHT * (nanos - l));
+    }
+
+    /**
+     * Concurrent requests admitted
+     *
+     * @return limit
+     */
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    private static void update(AtomicLong value, DoubleUnaryOperator operator) {
+        value.updateAndGet(bits -> Double.doubleToLongBits(operator.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
@@ -0,0 +1,59 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Records rows returned by ArticleRepository queries and time spent in
+ * ArticleMapper. Query latency itself is recorded by Spring Data as
+ * spring.data.repository.invocations.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ArticleMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @AfterReturning(pointcut = "execution(* com.clinked.demo.article.repository.ArticleRepository.*(..))",
+            returning = "result")
+    public void recordRows(JoinPoint joinPoint, Object result) {
+        int rows;
+        if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else {
+            return;
+        }
+        DistributionSummary.builder("article.repository.rows")
+                .description("Rows returned by an article repository query")
+                .tag("method", joinPoint.getSignature().getName())
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    @Around("execution(* com.clinked.demo.article.mapper.ArticleMapper.*(..))")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sample.stop(Timer.builder("article.mapping")
+                    .description("Time spent mapping articles")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.clinked.demo.article.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "article")
+public class ArticleProperties {
+
+    private Statistics statistics = new Statistics();
+
+    private Bulk bulk = new Bulk();
+
+    private Cache cache = new Cache();
+
+    private VirtualThreads virtualThreads = new VirtualThreads();
+
+    private WriteBehind writeBehind = new WriteBehind();
+
+    private Replica replica = new Replica();
+
+    private Security security = new Security();
+
+    private Feed feed = new Feed();
+
+    private Cluster cluster = new Cluster();
+
+    private Startup startup = new Startup();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    @Data
+    public static class Statistics {
+
+        /**
+         * Number of days of the default statistics window, kept in the daily counters
+         */
+        private int days = 7;
+
+        /**
+         * Maximum number of days a statistics request may cover
+         */
+        private int maxDays = 366;
+
+        /**
+         * Zone the default statistics are bucketed in
+         */
+        private ZoneId zone = ZoneId.systemDefault();
+
+        /**
+         * Number of minutes the per-minute publishing rates reach back
+         */
+        private int minuteBuckets = 1440;
+
+        /**
+         * Number of hours the per-hour publishing rates reach back
+         */
+        private int hourBuckets = 720;
+    }
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * Number of articles written per transaction and JDBC batch
+         */
+        private int batchSize = 500;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Maximum number of articles on all cached article list pages, a larger page is not cached
+         */
+        private long maximumArticles = 10000;
+
+        /**
+         * Time a cached article list page is served after it was loaded
+         */
+        private Duration timeToLive = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class VirtualThreads {
+
+        /**
+         * Run request handling and async work on virtual threads, requires Java 21
+         */
+        private boolean enabled;
+    }
+
+    @Data
+    public static class WriteBehind {
+
+        /**
+         * Accept created articles into a queue with 202 and write them in batches
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of queued articles before creates are rejected with 429
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Maximum number of queued articles written per transaction and JDBC batch
+         */
+        private int batchSize = 500;
+
+        /**
+         * Append-only log of queued articles, replayed on startup
+         */
+        private Path log = Path.of("data", "article-write-behind.log");
+
+        /**
+         * Force every log append to the storage device, not only to the operating system
+         */
+        private boolean sync;
+
+        /**
+         * Delay before a failed batch is written again
+         */
+        private Duration retryDelay = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Replica {
+
+        /**
+         * Route read-only transactions to the replica database
+         */
+        private boolean enabled;
+
+        /**
+         * JDBC url of the replica database
+         */
+        private String url;
+
+        /**
+         * Login username of the replica database
+         */
+        private String username;
+
+        /**
+         * Login password of the replica database
+         */
+        private String password;
+
+        /**
+         * Replication lag tolerated, a client reads from the primary for this long after its last write
+         */
+        private Duration lagTolerance = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Security {
+
+        /**
+         * Base64 HMAC-SHA256 key of issued tokens, at least 32 bytes. A random key is used when empty,
+         * which fails startup when a cluster transport is set.
+         */
+        private String tokenSecret;
+
+        /**
+         * Time an issued token is accepted
+         */
+        private Duration tokenTimeToLive = Duration.ofMinutes(15);
+
+        /**
+         * Maximum number of verified tokens kept until they expire, 0 verifies every token
+         */
+        private long tokenCacheSize = 10000;
+
+        /**
+         * Maximum number of verified Basic credentials kept, 0 checks the password hash on every request
+         */
+        private long credentialCacheSize = 1000;
+
+        /**
+         * Time verified Basic credentials are trusted without checking the password hash again
+         */
+        private Duration credentialTimeToLive = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Feed {
+
+        /**
+         * Maximum number of connected feed subscribers, further subscriptions are rejected with 503
+         */
+        private int maxSubscribers = 5000;
+
+        /**
+         * Number of articles buffered per subscriber, a subscriber falling further behind is disconnected
+         */
+        private int bufferSize = 256;
+
+        /**
+         * Number of recently published articles kept for subscribers resuming from a last seen id
+         */
+        private int historySize = 1024;
+
+        /**
+         * Number of threads writing buffered articles to subscribers
+         */
+        private int dispatchThreads = 2;
+
+        /**
+         * Interval of comments sent to idle subscribers, so dropped connections are detected
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * Time a write to a subscriber may take before the subscriber is disconnected as stalled
+         */
+        private Duration writeTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Time after which a subscription ends and the client reconnects
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Cluster {
+
+        /**
+         * Transport replicating stored articles to peer nodes: none, loopback (nodes in one JVM) or http
+         */
+        private String transport = "none";
+
+        /**
+         * Name of the loopback cluster, nodes in one JVM with the same name are peers
+         */
+        private String name = "article";
+
+        /**
+         * Base URLs of the peer nodes reached by the http transport
+         */
+        private List<URI> peers = new ArrayList<>();
+
+        /**
+         * Shared secret the http transport authenticates peers with
+         */
+        private String secret;
+
+        /**
+         * Interval of heartbeats announcing the last message, so a peer detects a lost message within it
+         */
+        private Duration heartbeat = Duration.ofSeconds(5);
+
+        /**
+         * Time a peer has to accept a message over http
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of messages waiting per peer, further messages are dropped and the peer resyncs
+         */
+        private int queueCapacity = 10000;
+    }
+
+    @Data
+    public static class Startup {
+
+        /**
+         * Exit as soon as the application is ready, for the training run of the class data sharing archive
+         */
+        private boolean exitOnReady;
+    }
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Limit the write and statistics requests of every client
+         */
+        private boolean enabled;
+
+        /**
+         * Write requests per second a client may send on average
+         */
+        private double writeRate = 20;
+
+        /**
+         * Write requests a client may send at once after being idle
+         */
+        private int writeBurst = 100;
+
+        /**
+         * Statistics and token requests per second a client may send on average
+         */
+        private double adminRate = 5;
+
+        /**
+         * Statistics and token requests a client may send at once after being idle
+         */
+        private int adminBurst = 20;
+
+        /**
+         * Maximum number of clients tracked, the least recently seen are forgotten beyond
+         */
+        private long maxClients = 100000;
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+
+        /**
+         * Shed requests beyond an adaptive number of concurrent requests
+         */
+        private boolean enabled;
+
+        /**
+         * Concurrent requests admitted before any latency was seen
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Concurrent requests always admitted
+         */
+        private int minLimit = 2;
+
+        /**
+         * Concurrent requests never exceeded
+         */
+        private int maxLimit = 200;
+
+        /**
+         * Factor the recent database latency may exceed the usual latency by before the limit is lowered
+         */
+        private double latencyTolerance = 2.0;
+    }
+}
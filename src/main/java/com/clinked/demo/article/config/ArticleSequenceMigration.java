@@ -0,0 +1,64 @@
+package com.clinked.demo.article.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Moves ARTICLE_SEQ above the highest stored article id. Databases created
+ * while ids were identity columns have articles but no sequence, which
+ * Hibernate would create starting at 1 and hand out existing ids. Runs on
+ * every start before the entity manager factory and leaves a sequence
+ * already above the stored ids alone.
+ */
+@Slf4j
+public class ArticleSequenceMigration implements InitializingBean {
+
+    static final String SEQUENCE = "ARTICLE_SEQ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int allocationSize;
+
+    public ArticleSequenceMigration(DataSource dataSource, int allocationSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    /**
+     * Create or restart the sequence so its next value is above the stored ids
+     *
+     * @return next value of the sequence, 0 when there is no ARTICLE table yet
+     */
+    public long migrate() {
+        Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'ARTICLE'", Integer.class);
+        if (tables == null || tables == 0) {
+            return 0;
+        }
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID), 0) FROM ARTICLE", Long.class);
+        List<Long> next = jdbcTemplate.queryForList("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = ?", Long.class, SEQUENCE);
+        // the pooled optimizer hands out the ids up to a sequence value, starting allocationSize - 1 below it
+        long start = maxId + allocationSize;
+        if (next.isEmpty()) {
+            jdbcTemplate.execute("CREATE SEQUENCE " + SEQUENCE + " START WITH " + start + " INCREMENT BY " + allocationSize);
+            log.info("Created {} starting at {} above the stored article ids", SEQUENCE, start);
+            return start;
+        }
+        if (next.get(0) < start) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + start);
+            log.info("Restarted {} at {} above the stored article ids", SEQUENCE, start);
+            return start;
+        }
+        return next.get(0);
+    }
+}
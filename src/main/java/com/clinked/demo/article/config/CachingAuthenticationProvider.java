@@ -0,0 +1,86 @@
+package com.clinked.demo.article.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Remembers successful username and password authentications for a while,
+ * so a client sending Basic credentials on every request pays the password
+ * hash check once per time to live. Entries are keyed by an HMAC of the
+ * credentials under a key generated at startup, passwords are not kept.
+ * Failed attempts are not cached and always pay the hash check.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+
+    private final Cache<String, Authentication> verified;
+
+    private final SecretKey key;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate,
+                                         long maximumSize,
+                                         Duration timeToLive,
+                                         MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verifiedCredentials");
+        try {
+            this.key = KeyGenerator.getInstance(ALGORITHM).generateKey();
+        } catch (GeneralSecurityException gse) {
+            throw new IllegalStateException(gse);
+        }
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String fingerprint = fingerprint(authentication.getName(), authentication.getCredentials().toString());
+        Authentication result = verified.getIfPresent(fingerprint);
+        if (result == null) {
+            result = delegate.authenticate(authentication);
+            if (result != null) {
+                verified.put(fingerprint, result);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private String fingerprint(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException gse) {
+            throw new IllegalStateException(gse);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.clinked.demo.article.config;
+
+import com.clinked.demo.article.service.HttpClusterTransport;
+import com.clinked.demo.article.service.LoopbackClusterTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the transport replicating stored articles between nodes with
+ * article.cluster.transport. Without a transport every node only sees its
+ * own writes until its caches expire.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "article.cluster", name = "transport", havingValue = "loopback")
+    public LoopbackClusterTransport loopbackClusterTransport(ArticleProperties articleProperties) {
+        return new LoopbackClusterTransport(articleProperties.getCluster().getName());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "article.cluster", name = "transport", havingValue = "http")
+    public HttpClusterTransport httpClusterTransport(ArticleProperties articleProperties, ObjectMapper objectMapper) {
+        return new HttpClusterTransport(articleProperties.getCluster(), objectMapper);
+    }
+}
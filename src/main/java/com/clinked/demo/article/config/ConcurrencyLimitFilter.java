@@ -0,0 +1,107 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds article requests beyond the adaptive concurrency limit with 503
+ * Service Unavailable, so a slow database queues requests at the clients
+ * instead of in the server. Streamed responses hold their admission until
+ * the stream completes. Feed subscriptions and cluster messages are not
+ * limited, they hold no database connection.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_MESSAGE = "Server is busy, please retry later.";
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Counter admitted;
+
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry meterRegistry) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.admitted = Counter.builder(RateLimitFilter.ADMITTED_METRIC)
+                .tag("limit", "concurrency")
+                .description("Requests admitted by the adaptive concurrency limit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(RateLimitFilter.REJECTED_METRIC)
+                .tag("limit", "concurrency")
+                .description("Requests shed by the adaptive concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/article/feed") || path.startsWith("/article/cluster/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!concurrencyLimit.tryAcquire()) {
+            rejected.increment();
+            RateLimitFilter.reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, REJECTED_MESSAGE);
+            return;
+        }
+        admitted.increment();
+        Release release = new Release();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /**
+     * Releases the admission once, however an asynchronous request ends
+     */
+    private class Release implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void run() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimit.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
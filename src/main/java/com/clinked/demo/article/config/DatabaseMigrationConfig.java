@@ -0,0 +1,26 @@
+package com.clinked.demo.article.config;
+
+import com.clinked.demo.article.model.entity.Article;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Migrations of existing databases, run before the entity manager factory
+ * like Flyway would, so neither schema updates nor writes see the old state
+ */
+@Configuration
+public class DatabaseMigrationConfig {
+
+    @Bean
+    public ArticleSequenceMigration articleSequenceMigration(DataSource dataSource) {
+        return new ArticleSequenceMigration(dataSource, Article.ID_ALLOCATION_SIZE);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor articleSequenceMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ArticleSequenceMigration.class);
+    }
+}
@@ -1,6 +1,10 @@
 package com.clinked.demo.article.config;
 
+import com.clinked.demo.article.exception.FeedFullException;
+import com.clinked.demo.article.exception.InvalidCursorException;
+import com.clinked.demo.article.exception.WriteQueueFullException;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -8,6 +12,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.DateTimeException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,4 +41,36 @@ public class GlobalExceptionHandler {
         errorsMap.put("errors", List.of(pre.getMessage()));
         return new ResponseEntity<>(errorsMap, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(DateTimeException.class)
+    public ResponseEntity<Map<String, List<String>>> handleValidationException(DateTimeException dte) {
+        Map<String, List<String>> errorsMap = new HashMap<>();
+        errorsMap.put("errors", List.of(dte.getMessage()));
+        return new ResponseEntity<>(errorsMap, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, List<String>>> handleValidationException(InvalidCursorException ice) {
+        Map<String, List<String>> errorsMap = new HashMap<>();
+        errorsMap.put("errors", List.of(ice.getMessage()));
+        return new ResponseEntity<>(errorsMap, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<Map<String, List<String>>> handleWriteQueueFullException(WriteQueueFullException wqfe) {
+        Map<String, List<String>> errorsMap = new HashMap<>();
+        errorsMap.put("errors", List.of(wqfe.getMessage()));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorsMap);
+    }
+
+    @ExceptionHandler(FeedFullException.class)
+    public ResponseEntity<Map<String, List<String>>> handleFeedFullException(FeedFullException ffe) {
+        Map<String, List<String>> errorsMap = new HashMap<>();
+        errorsMap.put("errors", List.of(ffe.getMessage()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorsMap);
+    }
 }
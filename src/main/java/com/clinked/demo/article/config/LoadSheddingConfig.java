@@ -0,0 +1,77 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Per client rate limits when article.rate-limit.enabled is set and the
+ * adaptive concurrency limit when article.concurrency-limit.enabled is set,
+ * both as filters on the article requests after the security filters. The
+ * concurrency limit learns the database latency from every repository call.
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    private static final String[] URL_PATTERNS = {"/article", "/article/*"};
+
+    @Bean
+    @ConditionalOnProperty(name = "article.rate-limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ArticleProperties articleProperties,
+                                                                   MeterRegistry meterRegistry) {
+        ArticleProperties.RateLimit rateLimit = articleProperties.getRateLimit();
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(rateLimit.getWriteRate(), rateLimit.getWriteBurst(), rateLimit.getMaxClients()),
+                new TokenBucketRateLimiter(rateLimit.getAdminRate(), rateLimit.getAdminBurst(), rateLimit.getMaxClients()),
+                meterRegistry);
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(URL_PATTERNS);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "article.concurrency-limit.enabled", havingValue = "true")
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(ArticleProperties articleProperties,
+                                                             MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimit(articleProperties.getConcurrencyLimit(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "article.concurrency-limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimit adaptiveConcurrencyLimit,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(adaptiveConcurrencyLimit, meterRegistry));
+        registration.addUrlPatterns(URL_PATTERNS);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    /**
+     * Adds the concurrency limit as invocation listener to every repository,
+     * resolved on the first call since post processors are created early
+     */
+    @Bean
+    @ConditionalOnProperty(name = "article.concurrency-limit.enabled", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitRepositoryListener(ObjectProvider<AdaptiveConcurrencyLimit> adaptiveConcurrencyLimit) {
+        SingletonSupplier<AdaptiveConcurrencyLimit> listener = SingletonSupplier.of(adaptiveConcurrencyLimit::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                            repositoryFactory.addInvocationListener(invocation -> listener.obtain().afterInvocation(invocation)));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the write requests and the statistics and token requests of every
+ * client, an authenticated user by name and anybody else by address. The
+ * address is the one forwarded by a trusted proxy when there is one, see
+ * server.forward-headers-strategy. Runs after the security filters, which
+ * resolve the user. A client over its rate
+ * gets 429 Too Many Requests with the seconds until its next request is
+ * admitted.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String ADMITTED_METRIC = "article.requests.admitted";
+
+    static final String REJECTED_METRIC = "article.requests.rejected";
+
+    private static final String REJECTED_MESSAGE = "Too many requests, please retry later.";
+
+    private final TokenBucketRateLimiter writeLimiter;
+
+    private final TokenBucketRateLimiter adminLimiter;
+
+    private final Counter admitted;
+
+    private final Counter rejected;
+
+    public RateLimitFilter(TokenBucketRateLimiter writeLimiter,
+                           TokenBucketRateLimiter adminLimiter,
+                           MeterRegistry meterRegistry) {
+        this.writeLimiter = writeLimiter;
+        this.adminLimiter = adminLimiter;
+        this.admitted = Counter.builder(ADMITTED_METRIC)
+                .tag("limit", "rate")
+                .description("Requests admitted by the per client rate limit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .tag("limit", "rate")
+                .description("Requests rejected by the per client rate limit")
+                .register(meterRegistry);
+        Gauge.builder("article.rate-limit.clients", () -> writeLimiter.getTrackedClients() + adminLimiter.getTrackedClients())
+                .description("Clients with a rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        TokenBucketRateLimiter limiter;
+        if (path.startsWith("/article/statistics") || path.equals("/article/token")) {
+            limiter = adminLimiter;
+        } else if (!isSafe(request.getMethod()) && !path.startsWith("/article/cluster/")) {
+            limiter = writeLimiter;
+        } else {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long wait = limiter.tryAcquire(getClient(request));
+        if (wait > 0) {
+            rejected.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1),
+                    REJECTED_MESSAGE);
+            return;
+        }
+        admitted.increment();
+        filterChain.doFilter(request, response);
+    }
+
+    private static String getClient(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    /**
+     * Answer with the errors body the exception handlers use, messages are
+     * constants needing no escaping
+     */
+    static void reject(HttpServletResponse response, HttpStatus status, long retryAfter, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"errors\":[\"" + message + "\"]}");
+    }
+}
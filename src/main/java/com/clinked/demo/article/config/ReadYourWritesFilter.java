@@ -0,0 +1,69 @@
+package com.clinked.demo.article.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes over a lagging replica. A request that may write marks
+ * its client with a cookie holding the write time, and reads of that client
+ * within the replica lag tolerance are served from the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "ARTICLE_LAST_WRITE";
+
+    private final Duration lagTolerance;
+
+    public ReadYourWritesFilter(Duration lagTolerance) {
+        this.lagTolerance = lagTolerance;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = !isSafe(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (lagTolerance.toMillis() + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        ReplicaRoutingDataSource.setPrimaryRequired(write || isRecentWrite(request, now));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryRequired(false);
+        }
+    }
+
+    private boolean isRecentWrite(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return now - Long.parseLong(cookie.getValue()) < lagTolerance.toMillis();
+                } catch (NumberFormatException nfe) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSafe(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
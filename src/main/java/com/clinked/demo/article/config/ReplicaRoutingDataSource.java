@@ -0,0 +1,47 @@
+package com.clinked.demo.article.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica and all
+ * others to the primary. A thread that has to see its own recent writes can
+ * require the primary for its read-only transactions too. Must be wrapped in
+ * a LazyConnectionDataSourceProxy, the read-only flag of a transaction is
+ * only known after the transaction manager asked for its connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    /**
+     * Require the primary for read-only transactions of the current thread
+     *
+     * @param primaryRequired true to read from the primary
+     */
+    public static void setPrimaryRequired(boolean primaryRequired) {
+        if (primaryRequired) {
+            PRIMARY_REQUIRED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    /**
+     * @return true when read-only transactions of the current thread read from the primary
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPrimaryRequired()
+                ? REPLICA
+                : PRIMARY;
+    }
+}
@@ -0,0 +1,37 @@
+package com.clinked.demo.article.config;
+
+import com.clinked.demo.article.service.ArticleSearchIndex;
+import com.clinked.demo.article.service.ArticleService;
+import com.clinked.demo.article.service.ArticleWriteBehindService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup behaviour of the startup profile. Under lazy initialization the
+ * beans rebuilding in-memory state and replaying the write-behind log are
+ * still created on startup, so a node is complete when it joins the load
+ * balancer. The exit on ready is checked at runtime, as conditions are fixed
+ * when the application is processed ahead of time.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerArticleState() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ArticleService.class, ArticleSearchIndex.class,
+                ArticleWriteBehindService.class);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady(ArticleProperties articleProperties) {
+        return event -> {
+            if (articleProperties.getStartup().isExitOnReady()) {
+                System.exit(SpringApplication.exit(event.getApplicationContext()));
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.clinked.demo.article.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per client. A bucket is kept as the single time its next token
+ * becomes free, so taking a token is one compare-and-set without locks. A
+ * bucket idle for long enough to refill completely is forgotten, it would
+ * behave like a new one, and at most maxClients buckets are kept.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long interval;
+
+    private final long burstTime;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    private final LongSupplier nanoTime;
+
+    public TokenBucketRateLimiter(double rate, int burst, long maxClients) {
+        this(rate, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double rate, int burst, long maxClients, LongSupplier nanoTime) {
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rate));
+        this.burstTime = interval * burst;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(burstTime, TimeUnit.NANOSECONDS)
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    /**
+     * Take a token from the bucket of a client
+     *
+     * @param client key of the client
+     * @return 0 when a token was taken, otherwise nanoseconds until the next token is free
+     */
+    public long tryAcquire(String client) {
+        AtomicLong next = buckets.get(client, c -> new AtomicLong(nanoTime.getAsLong()));
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long free = next.get();
+            long taken = Math.max(free, now) + interval;
+            if (taken - now > burstTime) {
+                return taken - now - burstTime;
+            }
+            if (next.compareAndSet(free, taken)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Number of clients with a bucket
+     *
+     * @return tracked clients
+     */
+    public long getTrackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -1,20 +1,44 @@
 package com.clinked.demo.article.config;
 
+import com.clinked.demo.article.service.TokenService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
 @Configuration
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+    private static final String TOKEN_ALGORITHM = "HmacSHA256";
+
     @Bean
     public UserDetailsService userDetailsService() {
         User.UserBuilder users = User.withDefaultPasswordEncoder();
@@ -31,13 +55,82 @@ public class WebSecurityConfig {
         return new InMemoryUserDetailsManager(user, admin);
     }
 
+    /**
+     * Key tokens are signed with, generated when article.security.token-secret
+     * is not set, tokens then do not survive a restart. Required with a cluster
+     * transport, since a token issued by one node must be accepted by the others
+     */
+    @Bean
+    public SecretKey tokenKey(ArticleProperties articleProperties) throws NoSuchAlgorithmException {
+        String secret = articleProperties.getSecurity().getTokenSecret();
+        if (secret == null || secret.isEmpty()) {
+            if (!"none".equals(articleProperties.getCluster().getTransport())) {
+                throw new IllegalStateException("article.security.token-secret is required by a cluster transport");
+            }
+            return KeyGenerator.getInstance(TOKEN_ALGORITHM).generateKey();
+        }
+        return new SecretKeySpec(Base64.getDecoder().decode(secret), TOKEN_ALGORITHM);
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenKey));
+    }
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        http.securityMatcher("/article/statistics").authorizeHttpRequests((authz) -> authz
-                        .requestMatchers("/article/statistics").hasRole("ADMIN")
+    public JwtDecoder jwtDecoder(SecretKey tokenKey, ArticleProperties articleProperties, MeterRegistry meterRegistry) {
+        JwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(tokenKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        long cacheSize = articleProperties.getSecurity().getTokenCacheSize();
+        return cacheSize > 0 ? new CachingJwtDecoder(jwtDecoder, cacheSize, meterRegistry) : jwtDecoder;
+    }
+
+    /**
+     * Statistics accept Basic credentials or a Bearer token issued by
+     * /article/token, tokens are only issued for Basic credentials
+     */
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           UserDetailsService userDetailsService,
+                                           JwtDecoder jwtDecoder,
+                                           ArticleProperties articleProperties,
+                                           MeterRegistry meterRegistry) throws Exception {
+        http.securityMatcher("/article/statistics", "/article/statistics/**", "/article/token").authorizeHttpRequests((authz) -> authz
+                        .requestMatchers("/article/statistics", "/article/statistics/**").hasRole("ADMIN")
+                        .requestMatchers("/article/token").access((authentication, context) ->
+                                new AuthorizationDecision(authentication.get() instanceof UsernamePasswordAuthenticationToken))
                         .anyRequest()
                         .authenticated())
-                .httpBasic(Customizer.withDefaults());
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new ProviderManager(
+                        basicAuthenticationProvider(userDetailsService, articleProperties.getSecurity(), meterRegistry)))
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
+                        .authenticationManager(new ProviderManager(jwtAuthenticationProvider(jwtDecoder)))))
+                .csrf(csrf -> csrf.ignoringRequestMatchers("/article/token"));
         return http.build();
     }
-}
\ No newline at end of file
+
+    private AuthenticationProvider basicAuthenticationProvider(UserDetailsService userDetailsService,
+                                                               ArticleProperties.Security security,
+                                                               MeterRegistry meterRegistry) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        if (security.getCredentialCacheSize() <= 0) {
+            return provider;
+        }
+        return new CachingAuthenticationProvider(provider, security.getCredentialCacheSize(),
+                security.getCredentialTimeToLive(), meterRegistry);
+    }
+
+    private AuthenticationProvider jwtAuthenticationProvider(JwtDecoder jwtDecoder) {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(TokenService.ROLES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("ROLE_");
+        JwtAuthenticationConverter authenticationConverter = new JwtAuthenticationConverter();
+        authenticationConverter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(authenticationConverter);
+        return provider;
+    }
+}
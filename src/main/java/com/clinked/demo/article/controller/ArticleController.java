@@ -1,18 +1,45 @@
 package com.clinked.demo.article.controller;
 
 import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.ArticleFilterDto;
+import com.clinked.demo.article.model.dto.ArticlePageDto;
+import com.clinked.demo.article.model.dto.ArticleScrollDto;
+import com.clinked.demo.article.model.dto.BulkResultDto;
 import com.clinked.demo.article.model.dto.StatisticsDto;
+import com.clinked.demo.article.service.ArticleBulkService;
+import com.clinked.demo.article.service.ArticleDataVersion;
+import com.clinked.demo.article.service.ArticleExportService;
+import com.clinked.demo.article.service.ArticleFeed;
 import com.clinked.demo.article.service.ArticleService;
+import com.clinked.demo.article.service.ArticleSortOrder;
+import com.clinked.demo.article.service.ArticleWriteBehindService;
+import com.clinked.demo.article.service.PublishingRateCounter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ResourceBundle;
 
 @RestController
 @RequestMapping("/article")
@@ -21,23 +48,154 @@ public class ArticleController {
 
     private final ArticleService articleService;
 
+    private final ArticleBulkService articleBulkService;
+
+    private final ArticleExportService articleExportService;
+
+    private final Optional<ArticleWriteBehindService> articleWriteBehindService;
+
+    private final ArticleDataVersion articleDataVersion;
+
+    private final ArticleFeed articleFeed;
+
     @PostMapping
     public ResponseEntity<ArticleDto> createArticle(@Valid @RequestBody ArticleDto articleDto) {
-        System.out.println(articleDto);
+        if (articleWriteBehindService.isPresent()) {
+            return ResponseEntity.accepted().body(articleWriteBehindService.get().enqueue(articleDto));
+        }
         ArticleDto result = articleService.createArticle(articleDto);
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDto> createArticles(InputStream inputStream) throws IOException {
+        return ResponseEntity.ok(articleBulkService.createArticles(inputStream));
+    }
+
     @GetMapping("/list")
-    public ResponseEntity<Page<ArticleDto>> getArticles(@RequestParam(required = false) Integer pageNumber,
-                                                        @RequestParam(required = false) Integer pageSize,
-                                                        @RequestParam(required = false) String sortField,
-                                                        @RequestParam(required = false) Boolean ascending) {
-        return ResponseEntity.ok(articleService.getArticles(pageNumber, pageSize, sortField, ascending));
+    public ResponseEntity<?> getArticles(@RequestParam(required = false) Integer pageNumber,
+                                         @RequestParam(required = false) Integer pageSize,
+                                         @RequestParam(required = false) String sortField,
+                                         @RequestParam(required = false) Boolean ascending,
+                                         ArticleFilterDto filter,
+                                         WebRequest webRequest) {
+        ArticleSortOrder sortOrder = ArticleSortOrder.of(sortField);
+        if (sortOrder == null) {
+            return ResponseEntity.badRequest().body(Map.of("errors",
+                    List.of(ResourceBundle.getBundle("messages/messages").getString("unsupported.sortField"))));
+        }
+        // a lagging replica may answer with data older than the validators
+        boolean replicaLagging = articleService.isReplicaLagging();
+        if (!replicaLagging && webRequest.checkNotModified(eTag(articleDataVersion.getETag(), webRequest),
+                articleDataVersion.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(getCacheControl(replicaLagging))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(toPageDto(articleService.getArticles(pageNumber, pageSize, sortOrder, ascending, filter)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ArticlePageDto> searchArticles(@RequestParam(required = false) String query,
+                                                         @RequestParam(required = false) String author,
+                                                         @RequestParam(required = false) Integer pageNumber,
+                                                         @RequestParam(required = false) Integer pageSize) {
+        return ResponseEntity.ok(toPageDto(articleService.searchArticles(query, author, pageNumber, pageSize)));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ArticleScrollDto> scrollArticles(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer pageSize,
+                                                           @RequestParam(required = false) Boolean ascending) {
+        return ResponseEntity.ok(articleService.scrollArticles(cursor, pageSize, ascending));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime endDate) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> articleExportService.exportArticles(startDate, endDate, outputStream));
+    }
+
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeArticles(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                        @RequestParam(required = false) String lastId) {
+        return articleFeed.subscribe(lastEventId != null ? lastEventId : lastId);
     }
 
     @GetMapping("/statistics")
-    public ResponseEntity<StatisticsDto> getStatistics() {
-        return ResponseEntity.ok(articleService.getStatistics());
+    public ResponseEntity<StatisticsDto> getStatistics(@RequestParam(required = false) Integer days,
+                                                       @RequestParam(required = false) String zone,
+                                                       WebRequest webRequest) {
+        boolean replicaLagging = articleService.isReplicaLagging();
+        if (!replicaLagging && webRequest.checkNotModified(eTag(articleService.getStatisticsETag(zone), webRequest),
+                articleService.getStatisticsLastModified(zone))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(getCacheControl(replicaLagging))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(articleService.getStatistics(days, zone));
+    }
+
+    @GetMapping("/statistics/rates")
+    public ResponseEntity<?> getPublishingRates(@RequestParam(required = false) String granularity,
+                                                @RequestParam(required = false) Integer window) {
+        PublishingRateCounter.Granularity rateGranularity = PublishingRateCounter.Granularity.of(granularity);
+        if (rateGranularity == null) {
+            return unsupportedGranularity();
+        }
+        return ResponseEntity.ok(articleService.getPublishingRates(rateGranularity, window));
+    }
+
+    @GetMapping("/statistics/authors")
+    public ResponseEntity<?> getTopAuthors(@RequestParam(required = false) String granularity,
+                                           @RequestParam(required = false) Integer window,
+                                           @RequestParam(required = false) Integer limit) {
+        PublishingRateCounter.Granularity rateGranularity = PublishingRateCounter.Granularity.of(granularity);
+        if (rateGranularity == null) {
+            return unsupportedGranularity();
+        }
+        return ResponseEntity.ok(articleService.getTopAuthors(rateGranularity, window, limit));
+    }
+
+    private ResponseEntity<?> unsupportedGranularity() {
+        return ResponseEntity.badRequest().body(Map.of("errors",
+                List.of(ResourceBundle.getBundle("messages/messages").getString("unsupported.granularity"))));
+    }
+
+    /**
+     * Compact page of articles without Spring's pageable and sort metadata
+     */
+    private ArticlePageDto toPageDto(Page<ArticleDto> page) {
+        return ArticlePageDto.builder()
+                .content(page.getContent())
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .build();
+    }
+
+    /**
+     * Weak entity tag of a data version in the negotiated format, so JSON and
+     * binary representations of the same data never share a tag. Weak, as the
+     * body may be gzipped and Tomcat does not compress strongly tagged bodies.
+     */
+    private String eTag(String version, WebRequest webRequest) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        String tag = accept == null ? version : version + "-" + Integer.toUnsignedString(accept.hashCode(), 36);
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Revalidate every time, or do not store at all while the body may come
+     * from a lagging replica and no validators are sent with it
+     */
+    private CacheControl getCacheControl(boolean replicaLagging) {
+        return replicaLagging ? CacheControl.noStore() : CacheControl.noCache().cachePrivate();
     }
 }
@@ -0,0 +1,30 @@
+package com.clinked.demo.article.controller;
+
+import com.clinked.demo.article.model.dto.ClusterMessageDto;
+import com.clinked.demo.article.service.HttpClusterTransport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "article.cluster", name = "transport", havingValue = "http")
+public class ClusterController {
+
+    private final HttpClusterTransport httpClusterTransport;
+
+    @PostMapping(HttpClusterTransport.MESSAGES_PATH)
+    public ResponseEntity<Void> receiveMessage(
+            @RequestHeader(value = HttpClusterTransport.SECRET_HEADER, required = false) String secret,
+            @RequestBody ClusterMessageDto message) {
+        if (!httpClusterTransport.receive(message, secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
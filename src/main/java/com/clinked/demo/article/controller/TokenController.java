@@ -0,0 +1,23 @@
+package com.clinked.demo.article.controller;
+
+import com.clinked.demo.article.model.dto.TokenDto;
+import com.clinked.demo.article.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/article")
+@RequiredArgsConstructor
+public class TokenController {
+
+    private final TokenService tokenService;
+
+    @PostMapping("/token")
+    public ResponseEntity<TokenDto> createToken(Authentication authentication) {
+        return ResponseEntity.ok(tokenService.issueToken(authentication));
+    }
+}
@@ -0,0 +1,13 @@
+package com.clinked.demo.article.exception;
+
+import java.io.Serial;
+
+public class FeedFullException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4120947336520846128L;
+
+    public FeedFullException() {
+        super("Article feed has too many subscribers, retry later.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.clinked.demo.article.exception;
+
+import java.io.Serial;
+
+public class InvalidCursorException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 2263542147613420474L;
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.clinked.demo.article.exception;
+
+import java.io.Serial;
+
+public class WriteQueueFullException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3807553391734925160L;
+
+    public WriteQueueFullException() {
+        super("Article write queue is full, retry later.");
+    }
+}
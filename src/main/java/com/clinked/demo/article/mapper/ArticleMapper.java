@@ -0,0 +1,32 @@
+package com.clinked.demo.article.mapper;
+
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.entity.Article;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.List;
+
+/**
+ * Article mappings generated at compile time by MapStruct, plain getter and
+ * setter calls without reflection.
+ *
+ * @author mehmet.sahin
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ArticleMapper {
+
+    ArticleDto toDto(Article article);
+
+    List<ArticleDto> toDtos(List<Article> articles);
+
+    /**
+     * Map to a new entity, ids are always assigned by the database sequence
+     *
+     * @param articleDto ArticleDto object
+     * @return Article
+     */
+    @Mapping(target = "id", ignore = true)
+    Article toEntity(ArticleDto articleDto);
+}
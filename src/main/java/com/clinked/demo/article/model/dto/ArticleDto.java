@@ -1,5 +1,6 @@
 package com.clinked.demo.article.model.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -10,6 +11,7 @@ import java.io.Serializable;
 import java.time.ZonedDateTime;
 
 @Data
+@JsonSerialize(using = ArticleDtoSerializer.class)
 public class ArticleDto implements Serializable {
 
     @Serial
@@ -17,8 +19,10 @@ public class ArticleDto implements Serializable {
     private Long id;
 
     @NotBlank(message = "not.blank.title")
+    @Size(max = 50, message = "size.exceed.title")
     private String title;
     @NotBlank(message = "not.blank.author")
+    @Size(max = 50, message = "size.exceed.author")
     private String author;
 
     @NotBlank(message = "not.blank.content")
@@ -0,0 +1,76 @@
+package com.clinked.demo.article.model.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes ArticleDto fields straight to the generator with pre-encoded names,
+ * without bean introspection or per-property serializer lookups. The output
+ * is the same as Jackson's reflective serialization with ISO dates.
+ */
+public class ArticleDtoSerializer extends StdSerializer<ArticleDto> {
+
+    @Serial
+    private static final long serialVersionUID = -1517431735566390584L;
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString TITLE = new SerializedString("title");
+
+    private static final SerializableString AUTHOR = new SerializedString("author");
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+
+    private static final SerializableString PUBLISHING_DATE = new SerializedString("publishingDate");
+
+    public ArticleDtoSerializer() {
+        super(ArticleDto.class);
+    }
+
+    @Override
+    public void serialize(ArticleDto articleDto, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(articleDto);
+        gen.writeFieldName(ID);
+        if (articleDto.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(articleDto.getId());
+        }
+        gen.writeFieldName(TITLE);
+        gen.writeString(articleDto.getTitle());
+        gen.writeFieldName(AUTHOR);
+        gen.writeString(articleDto.getAuthor());
+        gen.writeFieldName(CONTENT);
+        gen.writeString(articleDto.getContent());
+        gen.writeFieldName(PUBLISHING_DATE);
+        writePublishingDate(articleDto.getPublishingDate(), gen, provider);
+        gen.writeEndObject();
+    }
+
+    private void writePublishingDate(ZonedDateTime publishingDate,
+                                     JsonGenerator gen,
+                                     SerializerProvider provider) throws IOException {
+        if (publishingDate == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                || provider.isEnabled(SerializationFeature.WRITE_DATES_WITH_ZONE_ID)) {
+            // not the ISO string format, leave it to the registered date serializer
+            provider.defaultSerializeValue(publishingDate, gen);
+        } else {
+            if (provider.getConfig().hasExplicitTimeZone()
+                    && provider.isEnabled(SerializationFeature.WRITE_DATES_WITH_CONTEXT_TIME_ZONE)) {
+                publishingDate = publishingDate.withZoneSameInstant(provider.getTimeZone().toZoneId());
+            }
+            gen.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(publishingDate));
+        }
+    }
+}
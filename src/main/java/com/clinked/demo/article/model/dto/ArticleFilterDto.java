@@ -0,0 +1,44 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+@Data
+public class ArticleFilterDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 5409738512870352813L;
+
+    /**
+     * Exact author
+     */
+    private String author;
+
+    /**
+     * Inclusive lower publishing date bound
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime startDate;
+
+    /**
+     * Exclusive upper publishing date bound
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime endDate;
+
+    /**
+     * Case sensitive title prefix
+     */
+    private String titlePrefix;
+
+    public boolean isEmpty() {
+        return (author == null || author.isEmpty())
+                && startDate == null
+                && endDate == null
+                && (titlePrefix == null || titlePrefix.isEmpty());
+    }
+}
@@ -0,0 +1,26 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class ArticlePageDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -4586012473306127781L;
+
+    private List<ArticleDto> content;
+
+    private int pageNumber;
+
+    private int pageSize;
+
+    private long totalElements;
+
+    private int totalPages;
+}
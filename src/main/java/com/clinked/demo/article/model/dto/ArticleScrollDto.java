@@ -0,0 +1,22 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ArticleScrollDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3921556417329861407L;
+
+    private List<ArticleDto> content = new ArrayList<>();
+
+    /**
+     * Continuation token of the next page, null on the last page
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Data
+@Builder
+public class AuthorCountDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 5341116399125277918L;
+
+    private String author;
+
+    private long count;
+}
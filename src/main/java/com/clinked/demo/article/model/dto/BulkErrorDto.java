@@ -0,0 +1,19 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class BulkErrorDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 5128047290173624395L;
+
+    private int index;
+
+    private List<String> errors;
+}
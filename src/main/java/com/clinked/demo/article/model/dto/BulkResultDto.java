@@ -0,0 +1,18 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkResultDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -2270519836148391172L;
+
+    private int created;
+
+    private List<BulkErrorDto> errorList = new ArrayList<>();
+}
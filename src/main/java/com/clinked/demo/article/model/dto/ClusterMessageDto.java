@@ -0,0 +1,38 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterMessageDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -6270915932218417553L;
+
+    /**
+     * Node that sent the message, new on every start
+     */
+    private String node;
+
+    /**
+     * Position of the message among the messages of its node, heartbeats repeat the last one
+     */
+    private long sequence;
+
+    private Type type;
+
+    private List<ArticleDto> articles = new ArrayList<>();
+
+    public enum Type {
+        STORED,
+        REBUILT,
+        HEARTBEAT
+    }
+}
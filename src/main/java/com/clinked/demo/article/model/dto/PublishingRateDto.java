@@ -0,0 +1,18 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Data
+@Builder
+public class PublishingRateDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1094083551024795951L;
+
+    private String start;
+
+    private long count;
+}
@@ -0,0 +1,23 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class PublishingRatesDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 7011383634937061932L;
+
+    private String granularity;
+
+    private String windowStart;
+
+    private long total;
+
+    private List<PublishingRateDto> rates;
+}
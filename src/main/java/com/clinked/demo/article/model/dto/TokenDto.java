@@ -0,0 +1,20 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Data
+@Builder
+public class TokenDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 2671399207361427870L;
+
+    private String token;
+
+    private String tokenType;
+
+    private long expiresIn;
+}
@@ -0,0 +1,21 @@
+package com.clinked.demo.article.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+public class TopAuthorsDto implements Serializable {
+    @Serial
+    private static final long serialVersionUID = -1570352720118601739L;
+
+    private String granularity;
+
+    private String windowStart;
+
+    private List<AuthorCountDto> authors;
+}
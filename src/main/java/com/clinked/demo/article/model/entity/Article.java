@@ -5,6 +5,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -13,14 +15,27 @@ import java.io.Serializable;
 import java.time.ZonedDateTime;
 
 @Entity
-@Table(name = "ARTICLE")
+@Table(name = "ARTICLE", indexes = {
+        @Index(name = "IDX_ARTICLE_PUBLISHING_DATE_ID", columnList = "publishingDate, id"),
+        @Index(name = "IDX_ARTICLE_PUBLISHING_DATE_DESC_ID", columnList = "publishingDate desc, id desc"),
+        @Index(name = "IDX_ARTICLE_AUTHOR_PUBLISHING_DATE_ID", columnList = "author, publishingDate desc, id desc"),
+        @Index(name = "IDX_ARTICLE_ID_DESC", columnList = "id desc"),
+        @Index(name = "IDX_ARTICLE_TITLE_ID", columnList = "title, id"),
+        @Index(name = "IDX_ARTICLE_TITLE_DESC_ID", columnList = "title desc, id desc")
+})
 @Data
 public class Article implements Serializable {
 
+    /**
+     * Ids Hibernate takes from one ARTICLE_SEQ value
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Serial
     private static final long serialVersionUID = -6668625485413794160L;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articleSequence")
+    @SequenceGenerator(name = "articleSequence", sequenceName = "ARTICLE_SEQ", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(length = 50, nullable = false)
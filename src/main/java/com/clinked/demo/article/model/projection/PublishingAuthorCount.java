@@ -0,0 +1,20 @@
+package com.clinked.demo.article.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of articles an author published in a minute or an hour, as stored
+ * in the database. Minute is 0 for hourly counts.
+ */
+public interface PublishingAuthorCount {
+
+    String getAuthor();
+
+    LocalDate getDay();
+
+    Integer getHour();
+
+    Integer getMinute();
+
+    Long getCount();
+}
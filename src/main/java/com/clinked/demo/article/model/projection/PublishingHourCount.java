@@ -0,0 +1,17 @@
+package com.clinked.demo.article.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of articles published in an hour, as stored in the database.
+ * Hours are the finest granularity needed to re-bucket counts into the
+ * days of another time zone.
+ */
+public interface PublishingHourCount {
+
+    LocalDate getDay();
+
+    Integer getHour();
+
+    Long getCount();
+}
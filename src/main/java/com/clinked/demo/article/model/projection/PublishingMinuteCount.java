@@ -0,0 +1,11 @@
+package com.clinked.demo.article.model.projection;
+
+/**
+ * Number of articles published in a minute, as stored in the database.
+ * Needed to re-bucket counts into the days of a time zone whose offset
+ * differs from the storage zone by a fraction of an hour.
+ */
+public interface PublishingMinuteCount extends PublishingHourCount {
+
+    Integer getMinute();
+}
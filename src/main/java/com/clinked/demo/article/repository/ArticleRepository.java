@@ -1,14 +1,76 @@
 package com.clinked.demo.article.repository;
 
 import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.model.projection.PublishingAuthorCount;
+import com.clinked.demo.article.model.projection.PublishingHourCount;
+import com.clinked.demo.article.model.projection.PublishingMinuteCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
+public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
 
-    List<Article> findArticleByPublishingDateIsBetweenOrderByPublishingDateAsc(ZonedDateTime startDate, ZonedDateTime endDate);
+    Slice<Article> findAllBy(Pageable pageable);
+
+    @Query("select a from Article a where a.publishingDate <= :publishingDate "
+            + "and (a.publishingDate < :publishingDate or a.id < :id) "
+            + "order by a.publishingDate desc, a.id desc")
+    Slice<Article> findArticlesBefore(@Param("publishingDate") ZonedDateTime publishingDate,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("select a from Article a where a.publishingDate >= :publishingDate "
+            + "and (a.publishingDate > :publishingDate or a.id > :id) "
+            + "order by a.publishingDate asc, a.id asc")
+    Slice<Article> findArticlesAfter(@Param("publishingDate") ZonedDateTime publishingDate,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Article a "
+            + "where (:startDate is null or a.publishingDate >= :startDate) "
+            + "and (:endDate is null or a.publishingDate < :endDate) "
+            + "order by a.publishingDate asc, a.id asc")
+    Stream<Article> streamArticles(@Param("startDate") ZonedDateTime startDate,
+                                   @Param("endDate") ZonedDateTime endDate);
+
+    @Query("select cast(a.publishingDate as LocalDate) as day, extract(hour from a.publishingDate) as hour, count(a) as count "
+            + "from Article a where a.publishingDate >= :startDate "
+            + "group by cast(a.publishingDate as LocalDate), extract(hour from a.publishingDate)")
+    List<PublishingHourCount> countArticlesPerHourSince(@Param("startDate") ZonedDateTime startDate);
+
+    @Query("select cast(a.publishingDate as LocalDate) as day, extract(hour from a.publishingDate) as hour, "
+            + "extract(minute from a.publishingDate) as minute, count(a) as count "
+            + "from Article a where a.publishingDate >= :startDate "
+            + "group by cast(a.publishingDate as LocalDate), extract(hour from a.publishingDate), "
+            + "extract(minute from a.publishingDate)")
+    List<PublishingMinuteCount> countArticlesPerMinuteSince(@Param("startDate") ZonedDateTime startDate);
+
+    @Query("select a.author as author, cast(a.publishingDate as LocalDate) as day, extract(hour from a.publishingDate) as hour, "
+            + "extract(minute from a.publishingDate) as minute, count(a) as count "
+            + "from Article a where a.publishingDate >= :startDate "
+            + "group by a.author, cast(a.publishingDate as LocalDate), extract(hour from a.publishingDate), "
+            + "extract(minute from a.publishingDate)")
+    List<PublishingAuthorCount> countArticlesPerAuthorAndMinuteSince(@Param("startDate") ZonedDateTime startDate);
+
+    @Query("select a.author as author, cast(a.publishingDate as LocalDate) as day, extract(hour from a.publishingDate) as hour, "
+            + "0 as minute, count(a) as count "
+            + "from Article a where a.publishingDate >= :startDate "
+            + "group by a.author, cast(a.publishingDate as LocalDate), extract(hour from a.publishingDate)")
+    List<PublishingAuthorCount> countArticlesPerAuthorAndHourSince(@Param("startDate") ZonedDateTime startDate);
 }
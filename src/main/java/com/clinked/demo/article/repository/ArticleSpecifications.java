@@ -0,0 +1,53 @@
+package com.clinked.demo.article.repository;
+
+import com.clinked.demo.article.model.dto.ArticleFilterDto;
+import com.clinked.demo.article.model.entity.Article;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Article list filters. Every filter is a plain comparison on an indexed
+ * column, so the database can pick an index range for any combination:
+ * author on IDX_ARTICLE_AUTHOR_PUBLISHING_DATE_ID, a date range on the
+ * publishing date indexes and a title prefix on IDX_ARTICLE_TITLE_ID.
+ */
+public final class ArticleSpecifications {
+
+    private ArticleSpecifications() {
+    }
+
+    /**
+     * Build the specification of a filter, optional parts left out
+     *
+     * @param filter ArticleFilterDto object
+     * @return Specification<Article>
+     */
+    public static Specification<Article> of(ArticleFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getAuthor() != null && !filter.getAuthor().isEmpty()) {
+                predicates.add(cb.equal(root.get("author"), filter.getAuthor()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("publishingDate"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThan(root.get("publishingDate"), filter.getEndDate()));
+            }
+            String prefix = filter.getTitlePrefix();
+            if (prefix != null && !prefix.isEmpty()) {
+                // a range instead of LIKE, so the prefix is an index range whatever the parameter
+                predicates.add(cb.greaterThanOrEqualTo(root.get("title"), prefix));
+                char last = prefix.charAt(prefix.length() - 1);
+                if (last != Character.MAX_VALUE) {
+                    String upper = prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+                    predicates.add(cb.lessThan(root.get("title"), upper));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
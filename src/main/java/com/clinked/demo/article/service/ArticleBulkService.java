@@ -0,0 +1,114 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.BulkErrorDto;
+import com.clinked.demo.article.model.dto.BulkResultDto;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * @author mehmet.sahin
+ */
+@Service
+@Timed("article.service")
+@RequiredArgsConstructor
+public class ArticleBulkService {
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ArticleService articleService;
+
+    private final ArticleProperties articleProperties;
+
+    /**
+     * Create Article Records from a JSON array or newline delimited JSON stream.
+     * Items are read one at a time, validated and written in batches of
+     * article.bulk.batch-size, so memory use does not depend on the stream size.
+     *
+     * @param inputStream JSON array or NDJSON of ArticleDto objects
+     * @return BulkResultDto with the created count and errors per item index
+     * @throws IOException when the stream can not be read
+     */
+    public BulkResultDto createArticles(InputStream inputStream) throws IOException {
+        ResourceBundle resourceBundle = ResourceBundle.getBundle("messages/messages");
+        int batchSize = articleProperties.getBulk().getBatchSize();
+        BulkResultDto bulkResultDto = new BulkResultDto();
+        List<ArticleDto> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<ArticleDto> iterator = objectMapper.readerFor(ArticleDto.class).readValues(inputStream)) {
+            int index = 0;
+            while (iterator.hasNextValue()) {
+                ArticleDto articleDto;
+                try {
+                    articleDto = iterator.nextValue();
+                } catch (JsonParseException jpe) {
+                    bulkResultDto.getErrorList().add(error(index, jpe.getOriginalMessage()));
+                    break;
+                } catch (IOException ioe) {
+                    bulkResultDto.getErrorList().add(error(index++, ioe.getMessage()));
+                    continue;
+                }
+
+                if (articleDto == null) {
+                    bulkResultDto.getErrorList().add(error(index++, "Article can not be null."));
+                    continue;
+                }
+
+                Set<ConstraintViolation<ArticleDto>> violations = validator.validate(articleDto);
+                if (violations.isEmpty()) {
+                    batch.add(articleDto);
+                } else {
+                    bulkResultDto.getErrorList().add(BulkErrorDto.builder()
+                            .index(index)
+                            .errors(violations.stream()
+                                    .map(v -> message(resourceBundle, v.getMessage()))
+                                    .toList())
+                            .build());
+                }
+                index++;
+
+                if (batch.size() >= batchSize) {
+                    bulkResultDto.setCreated(bulkResultDto.getCreated() + articleService.createArticles(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            bulkResultDto.setCreated(bulkResultDto.getCreated() + articleService.createArticles(batch));
+        }
+        return bulkResultDto;
+    }
+
+    private BulkErrorDto error(int index, String message) {
+        return BulkErrorDto.builder()
+                .index(index)
+                .errors(List.of(message))
+                .build();
+    }
+
+    private String message(ResourceBundle resourceBundle, String key) {
+        try {
+            return resourceBundle.getString(key);
+        } catch (MissingResourceException mre) {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.ClusterMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the in-memory state of the nodes behind a load balancer coherent.
+ * Articles stored on a node are sent to its peers, which update their
+ * statistics, search index, page cache and feed as if stored locally. Every
+ * message carries the sequence of its node and heartbeats repeat the last
+ * one, so a peer that missed a message notices it within a heartbeat and
+ * rebuilds its state from the database. Messages queued behind the rebuild
+ * skip the articles it already read.
+ *
+ * @author mehmet.sahin
+ */
+@Slf4j
+@Service
+public class ArticleCluster {
+
+    private final Optional<ClusterTransport> clusterTransport;
+
+    private final ObjectProvider<ArticleService> articleService;
+
+    private final ArticleProperties.Cluster cluster;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final ReentrantLock sendLock = new ReentrantLock();
+
+    private final Map<String, Long> received = new HashMap<>();
+
+    private final ScheduledExecutorService receiver;
+
+    private final Counter resyncs;
+
+    private long sequence;
+
+    public ArticleCluster(Optional<ClusterTransport> clusterTransport,
+                          ObjectProvider<ArticleService> articleService,
+                          ArticleProperties articleProperties,
+                          MeterRegistry meterRegistry) {
+        this.clusterTransport = clusterTransport;
+        this.articleService = articleService;
+        this.cluster = articleProperties.getCluster();
+        this.receiver = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-cluster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.resyncs = Counter.builder("article.cluster.resyncs")
+                .description("State rebuilds after a message of a peer was missed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start receiving and heartbeats once the application is ready, messages
+     * sent before are missed and resynced
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        clusterTransport.ifPresent(transport -> {
+            transport.setReceiver(this::receive);
+            long heartbeat = cluster.getHeartbeat().toMillis();
+            if (heartbeat > 0) {
+                receiver.scheduleAtFixedRate(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    /**
+     * Stop receiving and heartbeats
+     */
+    @PreDestroy
+    public void stop() {
+        clusterTransport.ifPresent(transport -> transport.setReceiver(null));
+        receiver.shutdownNow();
+    }
+
+    /**
+     * Send articles stored on this node to the peers
+     *
+     * @param articleDtos stored articles
+     */
+    public void articlesStored(List<ArticleDto> articleDtos) {
+        if (!articleDtos.isEmpty()) {
+            send(ClusterMessageDto.Type.STORED, articleDtos);
+        }
+    }
+
+    /**
+     * Tell the peers to rebuild their state from the database
+     */
+    public void stateRebuilt() {
+        send(ClusterMessageDto.Type.REBUILT, List.of());
+    }
+
+    /**
+     * Get the id of this node
+     *
+     * @return node id
+     */
+    public String getNode() {
+        return node;
+    }
+
+    private void heartbeat() {
+        send(ClusterMessageDto.Type.HEARTBEAT, List.of());
+    }
+
+    /**
+     * Number and send under one lock, so the transport gets the messages of
+     * this node in sequence
+     */
+    private void send(ClusterMessageDto.Type type, List<ArticleDto> articleDtos) {
+        if (clusterTransport.isEmpty()) {
+            return;
+        }
+        sendLock.lock();
+        try {
+            if (type != ClusterMessageDto.Type.HEARTBEAT) {
+                sequence++;
+            }
+            clusterTransport.get().send(new ClusterMessageDto(node, sequence, type, articleDtos));
+        } catch (RuntimeException e) {
+            log.warn("Sending a cluster message failed, peers will resync", e);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Apply messages on a single thread, in the order they arrive
+     */
+    private void receive(ClusterMessageDto message) {
+        if (node.equals(message.getNode())) {
+            return;
+        }
+        try {
+            receiver.execute(() -> apply(message));
+        } catch (RejectedExecutionException ree) {
+            // stopping
+        }
+    }
+
+    void apply(ClusterMessageDto message) {
+        Long last = received.get(message.getNode());
+        long sequence = message.getSequence();
+        received.put(message.getNode(), last == null ? sequence : Math.max(last, sequence));
+
+        if (message.getType() == ClusterMessageDto.Type.HEARTBEAT) {
+            if (last == null ? sequence > 0 : sequence > last) {
+                resync(message);
+            }
+        } else if (last != null && sequence <= last) {
+            log.debug("Ignoring repeated cluster message {} of {}", sequence, message.getNode());
+        } else if (last == null ? sequence != 1 : sequence != last + 1) {
+            resync(message);
+        } else if (message.getType() == ClusterMessageDto.Type.STORED) {
+            articleService.getObject().articlesStoredOnPeer(message.getArticles());
+        } else {
+            articleService.getObject().rebuildLocalState();
+        }
+    }
+
+    private void resync(ClusterMessageDto message) {
+        log.info("Missed cluster messages of {} before {}, rebuilding state", message.getNode(),
+                message.getSequence());
+        resyncs.increment();
+        articleService.getObject().rebuildLocalState();
+    }
+}
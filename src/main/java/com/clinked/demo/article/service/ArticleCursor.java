@@ -0,0 +1,66 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.exception.InvalidCursorException;
+import com.clinked.demo.article.model.entity.Article;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last article of a scrolled page, handed to clients as an
+ * opaque continuation token.
+ *
+ * @param ascending scroll direction
+ * @param publishingDate publishing date of the last article
+ * @param id id of the last article
+ */
+public record ArticleCursor(boolean ascending, ZonedDateTime publishingDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Cursor pointing after the given article
+     *
+     * @param ascending scroll direction
+     * @param article last article of a page
+     * @return ArticleCursor
+     */
+    public static ArticleCursor after(boolean ascending, Article article) {
+        return new ArticleCursor(ascending, article.getPublishingDate(), article.getId());
+    }
+
+    /**
+     * Decode a continuation token
+     *
+     * @param token token created by encode
+     * @return ArticleCursor
+     */
+    public static ArticleCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new InvalidCursorException(token);
+            }
+            return new ArticleCursor("A".equals(parts[0]),
+                    Instant.parse(parts[1]).atZone(ZoneOffset.UTC),
+                    Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+
+    /**
+     * Encode as an url safe continuation token
+     *
+     * @return String
+     */
+    public String encode() {
+        String value = (ascending ? "A" : "D") + SEPARATOR + publishingDate.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
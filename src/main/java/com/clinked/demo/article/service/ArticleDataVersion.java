@@ -0,0 +1,53 @@
+package com.clinked.demo.article.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Version of the stored articles, changed on every write, so responses can
+ * be validated with an entity tag and a modification time without a query.
+ * The version starts from the startup time, so tags issued before a restart
+ * never match after it.
+ *
+ * @author mehmet.sahin
+ */
+@Component
+public class ArticleDataVersion {
+
+    private final long startedAt = System.currentTimeMillis();
+
+    private final AtomicReference<Version> version =
+            new AtomicReference<>(new Version(0, Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+
+    /**
+     * Move to the next version after articles were written
+     */
+    public void increment() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        version.updateAndGet(v -> new Version(v.writes() + 1, now));
+    }
+
+    /**
+     * Get the entity tag of the current version
+     *
+     * @return entity tag without quotes
+     */
+    public String getETag() {
+        return Long.toString(startedAt, 36) + "-" + Long.toString(version.get().writes(), 36);
+    }
+
+    /**
+     * Get the time of the last write, or the startup time before any write
+     *
+     * @return last modification time in epoch milliseconds
+     */
+    public long getLastModified() {
+        return version.get().lastModified().toEpochMilli();
+    }
+
+    private record Version(long writes, Instant lastModified) {
+    }
+}
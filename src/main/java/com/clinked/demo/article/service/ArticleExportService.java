@@ -0,0 +1,67 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.repository.ArticleRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * @author mehmet.sahin
+ */
+@Service
+@Timed("article.service")
+@RequiredArgsConstructor
+public class ArticleExportService {
+
+    private final ArticleRepository articleRepository;
+
+    private final ArticleMapper articleMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Write Articles as newline delimited JSON, ordered by publishing date.
+     * Rows are read from a forward-only cursor and detached once written,
+     * so memory use does not depend on the number of exported articles.
+     *
+     * @param startDate Inclusive lower publishing date bound, optional
+     * @param endDate Exclusive upper publishing date bound, optional
+     * @param outputStream stream the articles are written to
+     * @throws IOException when the stream can not be written
+     */
+    @Transactional(readOnly = true)
+    public void exportArticles(ZonedDateTime startDate,
+                               ZonedDateTime endDate,
+                               OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ArticleDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<Article> articles = articleRepository.streamArticles(startDate, endDate);
+             JsonGenerator generator = writer.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                writer.writeValue(generator, articleMapper.toDto(article));
+                generator.writeRaw('\n');
+                entityManager.detach(article);
+            }
+        }
+    }
+}
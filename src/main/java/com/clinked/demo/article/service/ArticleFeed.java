@@ -0,0 +1,386 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.exception.FeedFullException;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Server-Sent Events feed of stored articles. Publishing only offers the
+ * article to a bounded buffer of every subscriber and never waits for a
+ * client, a few dispatch threads write the buffers to the connections. A
+ * subscriber whose buffer overflows, or whose write does not finish within
+ * the write timeout, is disconnected and resumes from its last seen event
+ * id, replayed from the recent history. Event ids number the articles in
+ * the order this feed published them, article ids are not in that order,
+ * and carry the epoch of the feed, so an id of another node or an earlier
+ * run resets the client.
+ *
+ * @author mehmet.sahin
+ */
+@Slf4j
+@Component
+public class ArticleFeed {
+
+    static final String ARTICLE_EVENT = "article";
+
+    static final String RESET_EVENT = "reset";
+
+    private static final long NOT_WRITING = Long.MIN_VALUE;
+
+    private static final long STALLED = Long.MIN_VALUE + 1;
+
+    private final ArticleProperties.Feed feed;
+
+    private final String epoch = Integer.toHexString(ThreadLocalRandom.current().nextInt());
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final AtomicReferenceArray<FeedEvent> history;
+
+    private final AtomicLong published = new AtomicLong();
+
+    private final ThreadPoolExecutor dispatcher;
+
+    private final ScheduledExecutorService watchdog;
+
+    private final int dispatchThreads;
+
+    private int stalledWrites;
+
+    private final Counter evicted;
+
+    public ArticleFeed(ArticleProperties articleProperties, MeterRegistry meterRegistry) {
+        this.feed = articleProperties.getFeed();
+        this.history = new AtomicReferenceArray<>(Math.max(feed.getHistorySize(), 1));
+        this.dispatchThreads = Math.max(feed.getDispatchThreads(), 1);
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("article-feed-"));
+        // not a dispatch thread, so it keeps running while all of them are blocked
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(threadFactory("article-feed-watchdog-"));
+        long heartbeat = feed.getHeartbeat().toMillis();
+        if (heartbeat > 0) {
+            watchdog.scheduleAtFixedRate(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        }
+        long writeCheck = feed.getWriteTimeout().toMillis() / 2;
+        if (writeCheck > 0) {
+            watchdog.scheduleAtFixedRate(this::evictStalled, writeCheck, writeCheck, TimeUnit.MILLISECONDS);
+        }
+        Gauge.builder("article.feed.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Connected article feed subscribers")
+                .register(meterRegistry);
+        evicted = Counter.builder("article.feed.evicted")
+                .description("Feed subscribers disconnected because they fell behind or stalled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Complete all subscriptions and stop dispatching
+     */
+    @PreDestroy
+    public void stop() {
+        watchdog.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(s -> remove(s, true));
+    }
+
+    /**
+     * Subscribe to stored articles
+     *
+     * @param lastEventId id of the last event the client received, optional
+     * @return SseEmitter sending the articles published after lastEventId and then every stored article
+     * @throws FeedFullException when the maximum number of subscribers is connected
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(feed.getTimeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > feed.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new FeedFullException();
+        }
+        Subscriber subscriber = new Subscriber(emitter, feed.getBufferSize());
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber, false));
+        emitter.onError(e -> remove(subscriber, false));
+
+        // registered before the replay is read, so nothing stored meanwhile is missed
+        try {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber, true);
+            return emitter;
+        }
+        subscriber.replaying = false;
+        dispatch(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Offer a stored article to every subscriber. Publishing is serialized,
+     * so every buffer receives the articles in the order of their event ids
+     * and a resuming client can not skip one.
+     *
+     * @param articleDto stored article
+     */
+    public synchronized void publish(ArticleDto articleDto) {
+        FeedEvent event = new FeedEvent(published.get() + 1, articleDto);
+        history.set((int) (event.sequence % history.length()), event);
+        published.set(event.sequence);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.offer(event)) {
+                dispatch(subscriber);
+            } else if (remove(subscriber, false)) {
+                // completed by its dispatch, a send blocked on a slow client holds the emitter
+                evicted.increment();
+                subscriber.evicted = true;
+                dispatch(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Number of connected subscribers
+     *
+     * @return number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Send the articles published after the last event from the history.
+     * When the history does not reach back that far, or the id is not one
+     * of this feed, a reset event tells the client to reload instead.
+     */
+    private void replay(Subscriber subscriber, String lastEventId) throws IOException {
+        long lastSequence = parseSequence(lastEventId);
+        long end = published.get();
+        long start = Math.max(0, end - history.length());
+        if (lastSequence < start || lastSequence > end) {
+            subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data(lastEventId));
+            subscriber.replayedUpTo = end;
+            return;
+        }
+        for (long sequence = lastSequence + 1; sequence <= end; sequence++) {
+            FeedEvent event = history.get((int) (sequence % history.length()));
+            if (event == null || event.sequence != sequence) {
+                // overwritten by articles published meanwhile, the client missed too many
+                subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data(lastEventId));
+                break;
+            }
+            subscriber.emitter.send(toEvent(event));
+        }
+        subscriber.replayedUpTo = end;
+    }
+
+    /**
+     * Sequence of an event id of this feed
+     *
+     * @return sequence, or -1 for ids of another node or an earlier run
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+
+    private void dispatch(Subscriber subscriber) {
+        if (!subscriber.replaying && subscriber.dispatching.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ree) {
+                subscriber.dispatching.set(false);
+            }
+        }
+    }
+
+    /**
+     * Write the buffered articles of a subscriber, one dispatch thread per
+     * subscriber at a time
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            boolean sent = false;
+            FeedEvent event;
+            while (!subscriber.evicted && (event = subscriber.buffer.poll()) != null) {
+                if (event.sequence > subscriber.replayedUpTo) {
+                    write(subscriber, toEvent(event));
+                    sent = true;
+                }
+            }
+            if (subscriber.evicted) {
+                subscriber.emitter.complete();
+                return;
+            }
+            if (subscriber.heartbeat.getAndSet(false) && !sent) {
+                write(subscriber, SseEmitter.event().comment(""));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Disconnecting feed subscriber", e);
+            remove(subscriber, true);
+            return;
+        } finally {
+            subscriber.dispatching.set(false);
+        }
+        if (!subscriber.buffer.isEmpty()) {
+            dispatch(subscriber);
+        }
+    }
+
+    /**
+     * Send an event, noting when the write started for the watchdog. A write
+     * the watchdog declared stalled gives back the thread added for it.
+     */
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.writeStarted.set(System.nanoTime());
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            if (subscriber.writeStarted.getAndSet(NOT_WRITING) == STALLED) {
+                resizeDispatcher(-1);
+            }
+        }
+    }
+
+    /**
+     * Disconnect subscribers whose write takes longer than the write timeout.
+     * Their blocked thread returns when the server gives up on the connection,
+     * meanwhile a thread is added so the other subscribers are still served.
+     */
+    private void evictStalled() {
+        long now = System.nanoTime();
+        long timeout = feed.getWriteTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.writeStarted.get();
+            if (started != NOT_WRITING && started != STALLED && now - started > timeout
+                    && markStalled(subscriber, started)) {
+                if (remove(subscriber, false)) {
+                    evicted.increment();
+                    subscriber.evicted = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark a write stalled and add its thread in one step, so the thread is
+     * not given back before it was added
+     */
+    private synchronized boolean markStalled(Subscriber subscriber, long started) {
+        if (!subscriber.writeStarted.compareAndSet(started, STALLED)) {
+            return false;
+        }
+        resizeDispatcher(1);
+        return true;
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        stalledWrites += delta;
+        int size = dispatchThreads + stalledWrites;
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat.set(true);
+            dispatch(subscriber);
+        }
+    }
+
+    private boolean remove(Subscriber subscriber, boolean complete) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        if (complete) {
+            subscriber.emitter.complete();
+        }
+        return true;
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(FeedEvent event) {
+        return SseEmitter.event()
+                .id(epoch + "-" + event.sequence)
+                .name(ARTICLE_EVENT)
+                .data(event.article, MediaType.APPLICATION_JSON);
+    }
+
+    private record FeedEvent(long sequence, ArticleDto article) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<FeedEvent> buffer;
+
+        private final AtomicBoolean dispatching = new AtomicBoolean();
+
+        private final AtomicBoolean heartbeat = new AtomicBoolean();
+
+        private final AtomicLong writeStarted = new AtomicLong(NOT_WRITING);
+
+        private volatile long replayedUpTo;
+
+        private volatile boolean replaying = true;
+
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(bufferSize, 1));
+        }
+    }
+}
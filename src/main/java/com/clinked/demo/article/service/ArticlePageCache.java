@@ -0,0 +1,144 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-through cache of article list pages, bounded by the number of cached
+ * articles and time to live, so a few requests for huge pages can not hold
+ * the heap.
+ * Page contents are cached per normalized Pageable and the total count is
+ * cached once for all pages, so a hit runs no query at all. A created article
+ * only evicts the pages it would appear on or shift.
+ *
+ * @author mehmet.sahin
+ */
+@Component
+public class ArticlePageCache {
+
+    private static final Map<String, Comparator<ArticleDto>> COMPARATORS = Map.of(
+            "id", Comparator.comparing(ArticleDto::getId),
+            "title", Comparator.comparing(ArticleDto::getTitle),
+            "publishingDate", Comparator.comparing(a -> a.getPublishingDate().toInstant()));
+
+    private final Cache<Pageable, List<ArticleDto>> pages;
+
+    private final long maximumArticles;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicReference<Total> total = new AtomicReference<>(new Total(-1, 0));
+
+    public ArticlePageCache(ArticleProperties articleProperties, MeterRegistry meterRegistry) {
+        ArticleProperties.Cache cache = articleProperties.getCache();
+        maximumArticles = cache.getMaximumArticles();
+        pages = Caffeine.newBuilder()
+                .maximumWeight(cache.getMaximumArticles())
+                .weigher((Pageable pageable, List<ArticleDto> content) -> Math.max(content.size(), 1))
+                .expireAfterWrite(cache.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "articlePages");
+    }
+
+    /**
+     * Get a page from the cache or load and cache it
+     *
+     * @param pageable normalized page request
+     * @param loader loads the page with its total count from the database
+     * @param counter counts all articles in the database
+     * @return Page<ArticleDto>
+     */
+    public Page<ArticleDto> getPage(Pageable pageable,
+                                    Function<Pageable, Page<ArticleDto>> loader,
+                                    LongSupplier counter) {
+        List<ArticleDto> content = pages.getIfPresent(pageable);
+        if (content == null) {
+            long loadVersion = version.get();
+            Page<ArticleDto> page = loader.apply(pageable);
+            // a larger page would evict every other page and then itself
+            if (page.getContent().size() <= maximumArticles) {
+                pages.put(pageable, page.getContent());
+                if (version.get() != loadVersion) {
+                    // an article was created while loading, the page may predate it
+                    pages.invalidate(pageable);
+                }
+            }
+            total.set(new Total(loadVersion, page.getTotalElements()));
+            return page;
+        }
+        return new PageImpl<>(content, pageable, getTotal(counter));
+    }
+
+    /**
+     * Evict the pages a created article appears on or shifts
+     *
+     * @param articleDto created article
+     */
+    public void articleCreated(ArticleDto articleDto) {
+        version.incrementAndGet();
+        pages.asMap().entrySet().removeIf(e -> isAffected(e.getKey(), e.getValue(), articleDto));
+    }
+
+    /**
+     * Evict all pages
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    private long getTotal(LongSupplier counter) {
+        long currentVersion = version.get();
+        Total current = total.get();
+        if (current.version() == currentVersion) {
+            return current.count();
+        }
+        long count = counter.getAsLong();
+        total.set(new Total(currentVersion, count));
+        return count;
+    }
+
+    /**
+     * A page is unaffected only when it is full and the created article sorts
+     * strictly after its last article. Ties and orderings on properties without
+     * a comparator are treated as affected.
+     */
+    private boolean isAffected(Pageable pageable, List<ArticleDto> content, ArticleDto created) {
+        if (content.size() < pageable.getPageSize()) {
+            return true;
+        }
+        Comparator<ArticleDto> comparator = null;
+        for (Sort.Order order : pageable.getSort()) {
+            Comparator<ArticleDto> propertyComparator = COMPARATORS.get(order.getProperty());
+            if (propertyComparator == null) {
+                return true;
+            }
+            if (order.isDescending()) {
+                propertyComparator = propertyComparator.reversed();
+            }
+            comparator = comparator == null ? propertyComparator : comparator.thenComparing(propertyComparator);
+        }
+        return comparator == null || comparator.compare(created, content.get(content.size() - 1)) <= 0;
+    }
+
+    private record Total(long version, long count) {
+    }
+}
@@ -0,0 +1,339 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over article title, author and content. Every
+ * term maps to the ids of the articles containing it with a weight of its
+ * occurrences, title terms counting three times and author terms twice.
+ * Readers never lock, a search costs in proportion to the postings of its
+ * terms rather than to the number of articles. Articles added while the
+ * index is rebuilt are replayed into the rebuilt index before it replaces
+ * the current one.
+ *
+ * @author mehmet.sahin
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final String AUTHOR_PREFIX = "author:";
+
+    private static final float TITLE_WEIGHT = 3f;
+
+    private static final float AUTHOR_WEIGHT = 2f;
+
+    private static final float CONTENT_WEIGHT = 1f;
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score)
+            .thenComparingLong(Hit::id);
+
+    private final ArticleRepository articleRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<String, Postings> terms = new ConcurrentHashMap<>();
+
+    private final AtomicInteger documents = new AtomicInteger();
+
+    private final Object rebuildLock = new Object();
+
+    private List<Article> addedDuringRebuild;
+
+    public ArticleSearchIndex(ArticleRepository articleRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.articleRepository = articleRepository;
+        this.entityManager = entityManager;
+        // not read-only, so the index is rebuilt from the primary and not from a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // one snapshot for the reads run before the stream and the stream itself
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Rebuild the index from all stored articles
+     */
+    @PostConstruct
+    public void rebuild() {
+        rebuild(() -> {
+        });
+    }
+
+    /**
+     * Rebuild the index from all stored articles, first running reads that
+     * must see the same articles as the index
+     *
+     * @param before reads run in the transaction of the rebuild
+     */
+    public void rebuild(Runnable before) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                addedDuringRebuild = new ArrayList<>();
+            }
+            try {
+                Map<String, Postings> rebuilt = new ConcurrentHashMap<>();
+                int count = transactionTemplate.execute(status -> {
+                    before.run();
+                    int indexed = 0;
+                    try (Stream<Article> articles = articleRepository.streamArticles(null, null)) {
+                        for (Article article : (Iterable<Article>) articles::iterator) {
+                            add(rebuilt, article);
+                            entityManager.detach(article);
+                            indexed++;
+                        }
+                    }
+                    return indexed;
+                });
+                synchronized (this) {
+                    // added articles committed before the stream reached them are already indexed
+                    for (Article article : addedDuringRebuild) {
+                        if (!contains(rebuilt, article)) {
+                            add(rebuilt, article);
+                            count++;
+                        }
+                    }
+                    terms = rebuilt;
+                    documents.set(count);
+                }
+            } finally {
+                synchronized (this) {
+                    addedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Index a stored article
+     *
+     * @param article stored article
+     */
+    public synchronized void add(Article article) {
+        add(terms, article);
+        documents.incrementAndGet();
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(article);
+        }
+    }
+
+    /**
+     * Whether a stored article is indexed
+     *
+     * @param article stored article
+     * @return true if the article is indexed
+     */
+    boolean contains(Article article) {
+        return contains(terms, article);
+    }
+
+    /**
+     * Number of indexed articles
+     *
+     * @return number of articles
+     */
+    int getDocumentCount() {
+        return documents.get();
+    }
+
+    /**
+     * Rank the articles matching any of the query terms and written by an
+     * author with all the author terms
+     *
+     * @param query keywords searched in title, author and content, optional
+     * @param author keywords the author must contain, optional
+     * @param offset number of ranked ids to skip
+     * @param limit maximum number of ranked ids returned
+     * @return SearchResult with the ranked ids of the page and the number of matches
+     */
+    public SearchResult search(String query, String author, int offset, int limit) {
+        Map<String, Postings> index = terms;
+        Set<String> queryTerms = tokenize(query);
+        Set<String> authorTerms = tokenize(author);
+
+        Set<Long> authorIds = null;
+        for (String term : authorTerms) {
+            Set<Long> ids = index.getOrDefault(AUTHOR_PREFIX + term, Postings.EMPTY).ids();
+            if (authorIds == null) {
+                authorIds = ids;
+            } else {
+                authorIds.retainAll(ids);
+            }
+        }
+
+        Map<Long, Float> scores = new HashMap<>();
+        if (queryTerms.isEmpty()) {
+            if (authorIds != null) {
+                authorIds.forEach(id -> scores.put(id, 0f));
+            }
+        } else {
+            int documentCount = Math.max(documents.get(), 1);
+            for (String term : queryTerms) {
+                Postings postings = index.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                Postings.Block block = postings.block;
+                float idf = (float) Math.log(1 + (double) documentCount / block.size);
+                for (int i = 0; i < block.size; i++) {
+                    long id = block.ids[i];
+                    if (authorIds == null || authorIds.contains(id)) {
+                        scores.merge(id, block.weights[i] * idf, Float::sum);
+                    }
+                }
+            }
+        }
+
+        int wanted = (int) Math.min((long) offset + limit, scores.size());
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(wanted, 1), RANKING);
+        scores.forEach((id, score) -> {
+            Hit hit = new Hit(id, score);
+            if (top.size() < wanted) {
+                top.add(hit);
+            } else if (wanted > 0 && RANKING.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        });
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().id());
+        }
+        List<Long> page = new ArrayList<>(limit);
+        for (int i = ranked.size() - 1 - offset; i >= 0; i--) {
+            page.add(ranked.get(i));
+        }
+        return new SearchResult(page, scores.size());
+    }
+
+    private static void add(Map<String, Postings> index, Article article) {
+        weights(article).forEach((term, weight) ->
+                index.computeIfAbsent(term, t -> new Postings()).add(article.getId(), weight));
+    }
+
+    /**
+     * Whether an article is indexed, looked up in the shortest postings of
+     * its terms
+     */
+    private static boolean contains(Map<String, Postings> index, Article article) {
+        Postings.Block shortest = null;
+        for (String term : weights(article).keySet()) {
+            Postings postings = index.get(term);
+            if (postings == null) {
+                return false;
+            }
+            if (shortest == null || postings.block.size < shortest.size) {
+                shortest = postings.block;
+            }
+        }
+        if (shortest == null) {
+            return false;
+        }
+        for (int i = 0; i < shortest.size; i++) {
+            if (shortest.ids[i] == article.getId()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Float> weights(Article article) {
+        Map<String, Float> weights = new HashMap<>();
+        tokens(article.getTitle()).forEach(t -> weights.merge(t, TITLE_WEIGHT, Float::sum));
+        tokens(article.getAuthor()).forEach(t -> {
+            weights.merge(t, AUTHOR_WEIGHT, Float::sum);
+            weights.putIfAbsent(AUTHOR_PREFIX + t, 0f);
+        });
+        tokens(article.getContent()).forEach(t -> weights.merge(t, CONTENT_WEIGHT, Float::sum));
+        return weights;
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens(text).forEach(tokens::add);
+        return tokens;
+    }
+
+    private static Stream<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(t -> !t.isEmpty());
+    }
+
+    /**
+     * Ranked ids of a search page with the number of matching articles
+     *
+     * @param ids ranked article ids of the page
+     * @param total number of matching articles
+     */
+    public record SearchResult(List<Long> ids, long total) {
+    }
+
+    private record Hit(long id, float score) {
+    }
+
+    /**
+     * Append-only postings of a term. Writers fill slots past the published
+     * size and then publish a new block, so a reader sees a consistent prefix
+     * without locking.
+     */
+    private static final class Postings {
+
+        private static final Postings EMPTY = new Postings();
+
+        private volatile Block block = new Block(new long[4], new float[4], 0);
+
+        private synchronized void add(long id, float weight) {
+            Block current = block;
+            long[] ids = current.ids;
+            float[] weights = current.weights;
+            if (current.size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            ids[current.size] = id;
+            weights[current.size] = weight;
+            block = new Block(ids, weights, current.size + 1);
+        }
+
+        private Set<Long> ids() {
+            Block current = block;
+            Set<Long> ids = new HashSet<>(current.size * 2);
+            for (int i = 0; i < current.size; i++) {
+                ids.add(current.ids[i]);
+            }
+            return ids;
+        }
+
+        private record Block(long[] ids, float[] weights, int size) {
+        }
+    }
+}
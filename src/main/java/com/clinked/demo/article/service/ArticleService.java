@@ -1,36 +1,136 @@
 package com.clinked.demo.article.service;
 
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.config.ReplicaRoutingDataSource;
+import com.clinked.demo.article.mapper.ArticleMapper;
 import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.AuthorCountDto;
+import com.clinked.demo.article.model.dto.ArticleFilterDto;
+import com.clinked.demo.article.model.dto.ArticleScrollDto;
+import com.clinked.demo.article.model.dto.PublishingRateDto;
+import com.clinked.demo.article.model.dto.PublishingRatesDto;
 import com.clinked.demo.article.model.dto.StatisticsDayDto;
 import com.clinked.demo.article.model.dto.StatisticsDto;
+import com.clinked.demo.article.model.dto.TopAuthorsDto;
 import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.model.projection.PublishingAuthorCount;
+import com.clinked.demo.article.model.projection.PublishingHourCount;
+import com.clinked.demo.article.model.projection.PublishingMinuteCount;
 import com.clinked.demo.article.repository.ArticleRepository;
+import com.clinked.demo.article.repository.ArticleSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * @author mehmet.sahin
  */
 @Service
+@Timed("article.service")
 @RequiredArgsConstructor
 public class ArticleService {
 
-    private final ModelMapper mapper;
+    private final ArticleMapper articleMapper;
 
     private final ArticleRepository articleRepository;
 
+    private final DailyPublishingCounter dailyPublishingCounter;
+
+    private final ArticleProperties articleProperties;
+
+    private final ArticlePageCache articlePageCache;
+
+    private final ArticleSearchIndex articleSearchIndex;
+
+    private final ArticleDataVersion articleDataVersion;
+
+    private final PublishingRateCounter publishingRateCounter;
+
+    private final ArticleFeed articleFeed;
+
+    private final ArticleCluster articleCluster;
+
+    /**
+     * Held for reading from storing articles until they are counted, and for
+     * writing while counters are loaded from the database, so an article is
+     * either counted by the load or incremented after it, never both
+     */
+    private final ReadWriteLock countLock = new ReentrantReadWriteLock();
+
+    /**
+     * Held while the local state is rebuilt and while articles of a peer are
+     * applied, so an article of a peer is either covered by a rebuild or
+     * applied after it
+     */
+    private final Object rebuildLock = new Object();
+
+    /**
+     * Rebuild daily publishing counters of the default statistics window and
+     * the publishing rates from the database
+     */
+    @PostConstruct
+    public void rebuildStatistics() {
+        ArticleProperties.Statistics statistics = articleProperties.getStatistics();
+        Lock lock = countLock.writeLock();
+        lock.lock();
+        try {
+            LocalDate firstDay = LocalDate.now(statistics.getZone()).minusDays(statistics.getDays() - 1L);
+            dailyPublishingCounter.reset(countArticlesPerDay(firstDay, statistics.getZone()));
+            rebuildPublishingRates();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild statistics, search index and page cache after Article Records
+     * were stored outside of this service and may have been stored before,
+     * on this node and on its peers
+     */
+    public void rebuildState() {
+        rebuildLocalState();
+        articleCluster.stateRebuilt();
+    }
+
+    /**
+     * Rebuild statistics, search index and page cache of this node only.
+     * Statistics are loaded in the transaction of the index rebuild, so both
+     * see the same articles.
+     */
+    public void rebuildLocalState() {
+        synchronized (rebuildLock) {
+            articleSearchIndex.rebuild(this::rebuildStatistics);
+            articlePageCache.invalidateAll();
+            articleDataVersion.increment();
+        }
+    }
+
     /**
      * Create Article Record
      *
@@ -38,67 +138,465 @@ public class ArticleService {
      * @return ArticleDto
      */
     public ArticleDto createArticle(ArticleDto articleDto) {
-        Article article = mapper.map(articleDto, Article.class);
-        articleRepository.save(article);
-        return mapper.map(article, ArticleDto.class);
+        Article article = articleMapper.toEntity(articleDto);
+        ArticleDto created;
+        Lock lock = countLock.readLock();
+        lock.lock();
+        try {
+            articleRepository.save(article);
+            created = articleCreated(article);
+        } finally {
+            lock.unlock();
+        }
+        articleCluster.articlesStored(List.of(created));
+        return created;
+    }
+
+    /**
+     * Create Article Records in a single transaction, inserted as JDBC batches
+     *
+     * @param articleDtos validated ArticleDto objects
+     * @return number of created articles
+     */
+    public int createArticles(List<ArticleDto> articleDtos) {
+        List<Article> articles = articleDtos.stream()
+                .map(articleMapper::toEntity)
+                .toList();
+        articlesStored(() -> articleRepository.saveAll(articles));
+        return articles.size();
+    }
+
+    /**
+     * Store Article Records outside of this service, then update statistics
+     * and page cache. Counters are not loaded from the database meanwhile.
+     *
+     * @param store stores the articles and returns the stored ones
+     */
+    public void articlesStored(Supplier<List<Article>> store) {
+        List<ArticleDto> created;
+        Lock lock = countLock.readLock();
+        lock.lock();
+        try {
+            created = store.get().stream().map(this::articleCreated).toList();
+        } finally {
+            lock.unlock();
+        }
+        articleCluster.articlesStored(created);
+    }
+
+    /**
+     * Update statistics and page cache after Article Records were stored by
+     * a peer node. Articles already indexed were counted by a rebuild that
+     * read them from the database, they are only published to the feed.
+     *
+     * @param articleDtos articles stored by the peer
+     */
+    public void articlesStoredOnPeer(List<ArticleDto> articleDtos) {
+        synchronized (rebuildLock) {
+            Lock lock = countLock.readLock();
+            lock.lock();
+            try {
+                for (ArticleDto articleDto : articleDtos) {
+                    Article article = articleMapper.toEntity(articleDto);
+                    article.setId(articleDto.getId());
+                    if (articleSearchIndex.contains(article)) {
+                        articleFeed.publish(articleDto);
+                    } else {
+                        articleCreated(article);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     /**
-     * Get Articles as a Page List
+     * Get Articles as a Page List. Unfiltered pages are served from the page
+     * cache when possible, filtered pages are read through the filter indexes.
+     * Reads go to the replica when one is configured.
      *
      * @param pageNumber Page number default is 0
      * @param pageSize Page size default is 10
-     * @param sortField Sort Field default is publishingDate
+     * @param sortOrder Sort order default is publishingDate
      * @param ascending is ascending flag, default is false
+     * @param filter Author, publishing date range and title prefix filters, optional
      * @return Page<ArticleDto>
      */
+    @Transactional(readOnly = true)
     public Page<ArticleDto> getArticles(Integer pageNumber,
                                         Integer pageSize,
-                                        String sortField,
-                                        Boolean ascending) {
-        return articleRepository
-                .findAll(getPageable(pageNumber, pageSize, sortField, ascending))
-                .map(a -> mapper.map(a, ArticleDto.class));
+                                        ArticleSortOrder sortOrder,
+                                        Boolean ascending,
+                                        ArticleFilterDto filter) {
+        Pageable pageable = getPageable(pageNumber, pageSize, sortOrder, ascending);
+        if (filter != null && !filter.isEmpty()) {
+            return toDtoPage(articleRepository.findAll(ArticleSpecifications.of(filter), pageable));
+        }
+        if (isReplicaLagging()) {
+            // the replica may not have the last write yet, do not cache what it returns
+            return toDtoPage(articleRepository.findAll(pageable));
+        }
+        return articlePageCache.getPage(pageable,
+                p -> toDtoPage(articleRepository.findAll(p)),
+                articleRepository::count);
+    }
+
+    /**
+     * Search Articles by keywords in title, author and content, ranked by
+     * relevance from the search index
+     *
+     * @param query Keywords, an article matching more and rarer keywords ranks higher
+     * @param author Keywords the author must contain
+     * @param pageNumber Page number default is 0
+     * @param pageSize Page size default is 10
+     * @return Page<ArticleDto>
+     */
+    @Transactional(readOnly = true)
+    public Page<ArticleDto> searchArticles(String query,
+                                           String author,
+                                           Integer pageNumber,
+                                           Integer pageSize) {
+        if (pageNumber == null || pageNumber < 0) {
+            pageNumber = 0;
+        }
+        if (pageSize == null || pageSize < 1) {
+            pageSize = 10;
+        }
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        ArticleSearchIndex.SearchResult result = articleSearchIndex.search(query, author,
+                (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE), pageSize);
+
+        Map<Long, Article> articles = new HashMap<>();
+        articleRepository.findAllById(result.ids()).forEach(a -> articles.put(a.getId(), a));
+        List<Article> ranked = result.ids().stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(articleMapper.toDtos(ranked), pageable, result.total());
+    }
+
+    /**
+     * Scroll Articles by publishing date and id with keyset pagination, so
+     * every page costs the same regardless of its depth and no count is run
+     *
+     * @param cursor Continuation token of the previous page, null for the first page
+     * @param pageSize Page size default is 10
+     * @param ascending is ascending flag for the first page, default is false
+     * @return ArticleScrollDto
+     */
+    @Transactional(readOnly = true)
+    public ArticleScrollDto scrollArticles(String cursor,
+                                           Integer pageSize,
+                                           Boolean ascending) {
+        if (pageSize == null || pageSize < 1) {
+            pageSize = 10;
+        }
+
+        Slice<Article> slice;
+        boolean scrollAscending;
+        if (cursor == null || cursor.isEmpty()) {
+            scrollAscending = Boolean.TRUE.equals(ascending);
+            slice = articleRepository.findAllBy(PageRequest.of(0, pageSize,
+                    ArticleSortOrder.PUBLISHING_DATE.getSort(scrollAscending)));
+        } else {
+            ArticleCursor articleCursor = ArticleCursor.decode(cursor);
+            scrollAscending = articleCursor.ascending();
+            Pageable pageable = PageRequest.of(0, pageSize);
+            slice = scrollAscending
+                    ? articleRepository.findArticlesAfter(articleCursor.publishingDate(), articleCursor.id(), pageable)
+                    : articleRepository.findArticlesBefore(articleCursor.publishingDate(), articleCursor.id(), pageable);
+        }
+
+        ArticleScrollDto articleScrollDto = new ArticleScrollDto();
+        articleScrollDto.setContent(articleMapper.toDtos(slice.getContent()));
+        if (slice.hasNext()) {
+            Article last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            articleScrollDto.setNextCursor(ArticleCursor.after(scrollAscending, last).encode());
+        }
+        return articleScrollDto;
     }
 
     /**
-     * Get Statistics
+     * Get Statistics, answered from the daily publishing counters when the
+     * window and zone are covered by them, otherwise aggregated by the database
      *
+     * @param days Number of days up to today, default is article.statistics.days
+     * @param zone Zone id days are bucketed in, default is article.statistics.zone
      * @return StatisticsDto
      */
-    public StatisticsDto getStatistics() {
-        ZonedDateTime sevenDaysAgo = ZonedDateTime.now().minusDays(6);
-        List<Article> articles = articleRepository.findArticleByPublishingDateIsBetweenOrderByPublishingDateAsc(sevenDaysAgo, ZonedDateTime.now());
+    @Transactional(readOnly = true)
+    public StatisticsDto getStatistics(Integer days, String zone) {
+        ArticleProperties.Statistics statistics = articleProperties.getStatistics();
+        if (days == null || days < 1) {
+            days = statistics.getDays();
+        }
+        if (days > statistics.getMaxDays()) {
+            days = statistics.getMaxDays();
+        }
+        ZoneId zoneId = getZone(zone);
+        LocalDate firstDay = LocalDate.now(zoneId).minusDays(days - 1L);
+
+        ToIntFunction<LocalDate> dayCount;
+        if (zoneId.equals(statistics.getZone()) && days <= statistics.getDays()) {
+            dailyPublishingCounter.evictBefore(LocalDate.now(zoneId).minusDays(statistics.getDays() - 1L));
+            dayCount = dailyPublishingCounter::get;
+        } else {
+            Map<LocalDate, Integer> dayCounts = countArticlesPerDay(firstDay, zoneId);
+            dayCount = day -> dayCounts.getOrDefault(day, 0);
+        }
+
         StatisticsDto statisticsDto = new StatisticsDto();
-        Map<String, Integer> statisticsDayMap = new HashMap<>();
+        for (int i = 0; i < days; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            statisticsDto.getStatisticsDayDtoList().add(StatisticsDayDto.builder()
+                    .date(day.atStartOfDay(zoneId).format(DateTimeFormatter.ISO_DATE))
+                    .count(dayCount.applyAsInt(day))
+                    .build());
+        }
+        return statisticsDto;
+    }
 
+    /**
+     * Get Publishing Rates, the number of articles published in each of the
+     * last minutes or hours, answered from the in-memory rate counter
+     *
+     * @param granularity Period length, default is minute
+     * @param window Number of periods up to the current one, default is 60 minutes or 24 hours
+     * @return PublishingRatesDto
+     */
+    public PublishingRatesDto getPublishingRates(PublishingRateCounter.Granularity granularity, Integer window) {
+        int periods = getWindow(granularity, window);
+        List<PublishingRateCounter.PeriodCount> counts = publishingRateCounter.getCounts(granularity, periods);
+        return PublishingRatesDto.builder()
+                .granularity(granularity.name().toLowerCase(Locale.ROOT))
+                .windowStart(counts.get(0).start().toString())
+                .total(counts.stream().mapToLong(PublishingRateCounter.PeriodCount::count).sum())
+                .rates(counts.stream()
+                        .map(c -> PublishingRateDto.builder()
+                                .start(c.start().toString())
+                                .count(c.count())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Get Top Authors, the authors who published most in the last minutes or
+     * hours, answered from the in-memory rate counter
+     *
+     * @param granularity Period length, default is minute
+     * @param window Number of periods up to the current one, default is 60 minutes or 24 hours
+     * @param limit Maximum number of authors, default is 10
+     * @return TopAuthorsDto
+     */
+    public TopAuthorsDto getTopAuthors(PublishingRateCounter.Granularity granularity, Integer window, Integer limit) {
+        int periods = getWindow(granularity, window);
+        if (limit == null || limit < 1) {
+            limit = 10;
+        }
+        if (limit > 100) {
+            limit = 100;
+        }
+        List<PublishingRateCounter.PeriodCount> counts = publishingRateCounter.getCounts(granularity, 1);
+        return TopAuthorsDto.builder()
+                .granularity(granularity.name().toLowerCase(Locale.ROOT))
+                .windowStart(counts.get(0).start()
+                        .minus(periods - 1L, granularity == PublishingRateCounter.Granularity.MINUTE
+                                ? ChronoUnit.MINUTES : ChronoUnit.HOURS)
+                        .toString())
+                .authors(publishingRateCounter.getTopAuthors(granularity, periods, limit).stream()
+                        .map(a -> AuthorCountDto.builder()
+                                .author(a.author())
+                                .count(a.count())
+                                .build())
+                        .toList())
+                .build();
+    }
 
-        for (int i = 0; i < 7; i++) {
-            statisticsDayMap.put(sevenDaysAgo.plusDays(i).format(DateTimeFormatter.ISO_DATE), 0);
+    /**
+     * Resolve the number of periods of a rate request
+     *
+     * @param granularity Period length
+     * @param window Number of periods, default is 60 minutes or 24 hours, at most the counter reach
+     * @return number of periods
+     */
+    private int getWindow(PublishingRateCounter.Granularity granularity, Integer window) {
+        if (window == null || window < 1) {
+            window = granularity == PublishingRateCounter.Granularity.MINUTE ? 60 : 24;
         }
+        return Math.min(window, publishingRateCounter.getReach(granularity));
+    }
+
+    /**
+     * Get the entity tag of statistics, which change with the stored articles
+     * and with the current day of the zone
+     *
+     * @param zone Zone id days are bucketed in, default is article.statistics.zone
+     * @return entity tag without quotes
+     */
+    public String getStatisticsETag(String zone) {
+        return articleDataVersion.getETag() + "-" + LocalDate.now(getZone(zone)).toEpochDay();
+    }
+
+    /**
+     * Get the last modification time of statistics, the later of the last
+     * write and the start of the current day of the zone
+     *
+     * @param zone Zone id days are bucketed in, default is article.statistics.zone
+     * @return last modification time in epoch milliseconds
+     */
+    public long getStatisticsLastModified(String zone) {
+        ZoneId zoneId = getZone(zone);
+        return Math.max(articleDataVersion.getLastModified(),
+                LocalDate.now(zoneId).atStartOfDay(zoneId).toInstant().toEpochMilli());
+    }
+
+    /**
+     * Whether this thread reads from a replica that may still lag behind the
+     * last write. Validators of the primary's data version must not be sent
+     * with what such a replica returns.
+     *
+     * @return true within the replica lag tolerance after the last write
+     */
+    public boolean isReplicaLagging() {
+        ArticleProperties.Replica replica = articleProperties.getReplica();
+        return replica.isEnabled()
+                && !ReplicaRoutingDataSource.isPrimaryRequired()
+                // last modified is truncated to seconds
+                && System.currentTimeMillis() - articleDataVersion.getLastModified()
+                < replica.getLagTolerance().toMillis() + 1000;
+    }
 
+    /**
+     * Resolve the zone of a statistics request
+     *
+     * @param zone Zone id, default is article.statistics.zone
+     * @return ZoneId
+     */
+    private ZoneId getZone(String zone) {
+        return zone == null || zone.isEmpty() ? articleProperties.getStatistics().getZone() : ZoneId.of(zone);
+    }
 
-        if (articles == null || articles.isEmpty()) {
-            return statisticsDto;
+    /**
+     * Count articles per day from the first day on, aggregated by the database.
+     * The database groups by hour of the stored timestamps, which are in the
+     * JVM default zone, and hours are then re-bucketed into days of the zone.
+     * Days of a zone like Asia/Kolkata do not start on a storage hour, for
+     * such zones the database groups by minute instead.
+     *
+     * @param firstDay first day to count
+     * @param zone zone the days are bucketed in
+     * @return Map<LocalDate, Integer>
+     */
+    private Map<LocalDate, Integer> countArticlesPerDay(LocalDate firstDay, ZoneId zone) {
+        ZoneId storageZone = ZoneId.systemDefault();
+        ZonedDateTime startDate = firstDay.atStartOfDay(zone);
+        Map<LocalDate, Integer> dayCounts = new HashMap<>();
+        List<? extends PublishingHourCount> counts = hasWholeHourOffsets(zone, startDate.toInstant())
+                && hasWholeHourOffsets(storageZone, startDate.toInstant())
+                ? articleRepository.countArticlesPerHourSince(startDate)
+                : articleRepository.countArticlesPerMinuteSince(startDate);
+        if (counts == null) {
+            return dayCounts;
         }
+        counts.forEach(c -> dayCounts.merge(
+                toDay(c.getDay().atTime(c.getHour(), c instanceof PublishingMinuteCount m ? m.getMinute() : 0)
+                        .atZone(storageZone), zone),
+                c.getCount().intValue(),
+                Integer::sum));
+        return dayCounts;
+    }
 
-        articles.forEach(a -> {
-            String key = a.getPublishingDate().format(DateTimeFormatter.ISO_DATE);
-            Integer count = statisticsDayMap.get(key);
-            if (count != null) {
-                statisticsDayMap.put(key, ++count);
+    /**
+     * Whether all offsets of a zone from an instant on are whole hours
+     *
+     * @param zone zone to check
+     * @param since first instant
+     * @return false when an offset has minutes, as Asia/Kolkata or Australia/Adelaide
+     */
+    private static boolean hasWholeHourOffsets(ZoneId zone, Instant since) {
+        ZoneRules rules = zone.getRules();
+        if (rules.getOffset(since).getTotalSeconds() % 3600 != 0) {
+            return false;
+        }
+        Instant now = Instant.now();
+        for (ZoneOffsetTransition transition = rules.nextTransition(since);
+             transition != null && transition.getInstant().isBefore(now);
+             transition = rules.nextTransition(transition.getInstant())) {
+            if (transition.getOffsetAfter().getTotalSeconds() % 3600 != 0) {
+                return false;
             }
-        });
+        }
+        return true;
+    }
+
+    /**
+     * Rebuild the per-minute and per-hour publishing rates from counts
+     * aggregated by the database, stored timestamps are in the JVM default zone
+     */
+    private void rebuildPublishingRates() {
+        ZoneId storageZone = ZoneId.systemDefault();
+        ZonedDateTime now = ZonedDateTime.now(storageZone);
+        publishingRateCounter.reset(PublishingRateCounter.Granularity.MINUTE, toPeriodCounts(
+                articleRepository.countArticlesPerAuthorAndMinuteSince(now.minusMinutes(
+                        publishingRateCounter.getReach(PublishingRateCounter.Granularity.MINUTE))),
+                storageZone));
+        publishingRateCounter.reset(PublishingRateCounter.Granularity.HOUR, toPeriodCounts(
+                articleRepository.countArticlesPerAuthorAndHourSince(now.minusHours(
+                        publishingRateCounter.getReach(PublishingRateCounter.Granularity.HOUR))),
+                storageZone));
+    }
 
-        statisticsDayMap.forEach((key, value) -> statisticsDto.getStatisticsDayDtoList()
-                .add(StatisticsDayDto.builder()
-                .date(key)
-                .count(value)
-                .build()));
+    private List<PublishingRateCounter.AuthorPeriodCount> toPeriodCounts(List<PublishingAuthorCount> counts,
+                                                                         ZoneId storageZone) {
+        if (counts == null) {
+            return List.of();
+        }
+        return counts.stream()
+                .map(c -> new PublishingRateCounter.AuthorPeriodCount(
+                        c.getDay().atTime(c.getHour(), c.getMinute()).atZone(storageZone).toInstant(),
+                        c.getAuthor(),
+                        c.getCount()))
+                .toList();
+    }
 
-        statisticsDto.getStatisticsDayDtoList().sort(Comparator.comparing(StatisticsDayDto::getDate));
+    /**
+     * Map a page of articles in one call
+     *
+     * @param page page of articles
+     * @return Page<ArticleDto>
+     */
+    private Page<ArticleDto> toDtoPage(Page<Article> page) {
+        return new PageImpl<>(articleMapper.toDtos(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
 
-        return statisticsDto;
+    /**
+     * Update in-memory state after an article is stored
+     *
+     * @param article stored article
+     */
+    private ArticleDto articleCreated(Article article) {
+        ArticleDto articleDto = articleMapper.toDto(article);
+        dailyPublishingCounter.increment(toDay(article.getPublishingDate(),
+                articleProperties.getStatistics().getZone()));
+        articlePageCache.articleCreated(articleDto);
+        publishingRateCounter.increment(article.getPublishingDate().toInstant(), article.getAuthor());
+        articleSearchIndex.add(article);
+        articleDataVersion.increment();
+        articleFeed.publish(articleDto);
+        return articleDto;
+    }
+
+    /**
+     * Publishing day of a date in the given zone
+     *
+     * @param publishingDate publishing date
+     * @param zone zone the day is bucketed in
+     * @return LocalDate
+     */
+    private LocalDate toDay(ZonedDateTime publishingDate, ZoneId zone) {
+        return publishingDate.withZoneSameInstant(zone).toLocalDate();
     }
 
     /**
@@ -106,13 +604,13 @@ public class ArticleService {
      *
      * @param pageNumber Page number default is 0
      * @param pageSize Page size default is 10
-     * @param sortField Sort Field default is publishingDate
+     * @param sortOrder Sort order default is publishingDate
      * @param ascending is ascending flag, default is false
      * @return Pageable
      */
     private Pageable getPageable(Integer pageNumber,
                                  Integer pageSize,
-                                 String sortField,
+                                 ArticleSortOrder sortOrder,
                                  Boolean ascending) {
         if (pageNumber == null || pageNumber < 0) {
             pageNumber = 0;
@@ -120,19 +618,12 @@ public class ArticleService {
         if (pageSize == null || pageSize < 0) {
             pageSize = 10;
         }
-        if (sortField == null || sortField.isEmpty()) {
-            sortField = "publishingDate";
+        if (sortOrder == null) {
+            sortOrder = ArticleSortOrder.PUBLISHING_DATE;
         }
         if (ascending == null) {
             ascending = Boolean.FALSE;
         }
-
-        Sort sort = Sort.by(sortField);
-        if (ascending) {
-            sort = sort.ascending();
-        } else {
-            sort = sort.descending();
-        }
-        return PageRequest.of(pageNumber, pageSize, sort);
+        return PageRequest.of(pageNumber, pageSize, sortOrder.getSort(ascending));
     }
 }
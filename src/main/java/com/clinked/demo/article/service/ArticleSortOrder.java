@@ -0,0 +1,66 @@
+package com.clinked.demo.article.service;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sortable article list fields. Every order ends with id, so pages are
+ * deterministic on equal values, and each direction has an index in that
+ * exact order, so a page is read in index order without sorting the table.
+ * Sort objects are built once.
+ *
+ * @author mehmet.sahin
+ */
+public enum ArticleSortOrder {
+
+    PUBLISHING_DATE("publishingDate"),
+    ID("id"),
+    TITLE("title");
+
+    private static final Map<String, ArticleSortOrder> BY_FIELD = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(ArticleSortOrder::getField, Function.identity()));
+
+    private final String field;
+
+    private final Sort ascending;
+
+    private final Sort descending;
+
+    ArticleSortOrder(String field) {
+        this.field = field;
+        Sort sort = "id".equals(field) ? Sort.by(field) : Sort.by(field, "id");
+        this.ascending = sort.ascending();
+        this.descending = sort.descending();
+    }
+
+    /**
+     * Resolve a sort field
+     *
+     * @param field Sort Field, publishingDate when empty
+     * @return ArticleSortOrder, null when the field is not sortable
+     */
+    public static ArticleSortOrder of(String field) {
+        if (field == null || field.isEmpty()) {
+            return PUBLISHING_DATE;
+        }
+        return BY_FIELD.get(field);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Get the precomputed sort of a direction
+     *
+     * @param ascending is ascending flag
+     * @return Sort
+     */
+    public Sort getSort(boolean ascending) {
+        return ascending ? this.ascending : descending;
+    }
+}
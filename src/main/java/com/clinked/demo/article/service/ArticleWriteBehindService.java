@@ -0,0 +1,314 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.exception.WriteQueueFullException;
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.entity.Article;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind ingestion of created articles. A created article is given its
+ * id, appended to a local log and queued, and a single writer thread drains
+ * the queue into the database in batched transactions. Creates are rejected
+ * while the queue is full. The log is truncated whenever the queue runs empty
+ * and is replayed on startup, so articles accepted before a crash are written
+ * once the application is back.
+ *
+ * @author mehmet.sahin
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "article.write-behind", name = "enabled", havingValue = "true")
+public class ArticleWriteBehindService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ARTICLE (ID, TITLE, AUTHOR, CONTENT, PUBLISHING_DATE) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String MERGE_SQL =
+            "MERGE INTO ARTICLE (ID, TITLE, AUTHOR, CONTENT, PUBLISHING_DATE) KEY (ID) VALUES (?, ?, ?, ?, ?)";
+
+    private final ArticleMapper articleMapper;
+
+    private final ArticleIdGenerator articleIdGenerator;
+
+    private final ArticleService articleService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter logWriter;
+
+    private final ArticleProperties.WriteBehind writeBehind;
+
+    private final BlockingQueue<Article> queue;
+
+    private final ReentrantLock logLock = new ReentrantLock();
+
+    private final Counter rejected;
+
+    private final Counter dropped;
+
+    private FileChannel logChannel;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    public ArticleWriteBehindService(ArticleMapper articleMapper,
+                                     ArticleIdGenerator articleIdGenerator,
+                                     ArticleService articleService,
+                                     JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     ArticleProperties articleProperties,
+                                     MeterRegistry meterRegistry) {
+        this.articleMapper = articleMapper;
+        this.articleIdGenerator = articleIdGenerator;
+        this.articleService = articleService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.logWriter = objectMapper.writerFor(ArticleDto.class);
+        this.writeBehind = articleProperties.getWriteBehind();
+        this.queue = new ArrayBlockingQueue<>(writeBehind.getQueueCapacity());
+        Gauge.builder("article.write-behind.queue", queue, BlockingQueue::size)
+                .description("Articles accepted and not yet written")
+                .register(meterRegistry);
+        rejected = Counter.builder("article.write-behind.rejected")
+                .description("Articles rejected because the write queue was full")
+                .register(meterRegistry);
+        dropped = Counter.builder("article.write-behind.dropped")
+                .description("Accepted articles the database refused to store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replay the log of a previous run and start the writer
+     *
+     * @throws IOException when the log can not be read or opened
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Path logPath = writeBehind.getLog();
+        if (logPath.getParent() != null) {
+            Files.createDirectories(logPath.getParent());
+        }
+        recover(logPath);
+        logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        logChannel.truncate(0);
+        running = true;
+        writer = new Thread(this::drain, "article-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Write the queued articles and stop the writer. Articles the writer could
+     * not store stay in the log for the next start.
+     *
+     * @throws InterruptedException when interrupted while waiting for the writer
+     * @throws IOException when the log can not be closed
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        writer.join(writeBehind.getRetryDelay().multipliedBy(10).toMillis());
+        logChannel.close();
+    }
+
+    /**
+     * Accept Article Record to be written in the background
+     *
+     * @param articleDto validated ArticleDto object
+     * @return ArticleDto with the id it will be stored with
+     * @throws WriteQueueFullException when the queue is full
+     */
+    public ArticleDto enqueue(ArticleDto articleDto) {
+        Article article = articleIdGenerator.assignId(articleMapper.toEntity(articleDto));
+        ArticleDto accepted = articleMapper.toDto(article);
+        ByteBuffer record = toLogRecord(accepted);
+
+        logLock.lock();
+        try {
+            if (queue.remainingCapacity() == 0) {
+                rejected.increment();
+                throw new WriteQueueFullException();
+            }
+            logChannel.write(record);
+            if (writeBehind.isSync()) {
+                logChannel.force(false);
+            }
+            queue.add(article);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            logLock.unlock();
+        }
+        return accepted;
+    }
+
+    private void drain() {
+        int batchSize = writeBehind.getBatchSize();
+        while (running || !queue.isEmpty()) {
+            List<Article> batch = new ArrayList<>(batchSize);
+            try {
+                Article first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!write(batch)) {
+                    return;
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            truncateLogIfDrained();
+        }
+    }
+
+    /**
+     * Write a batch, retrying while the database is unavailable. When a row
+     * is refused the batch is written row by row and refused rows are dropped.
+     *
+     * @return false when the writer stopped before the batch was written
+     */
+    private boolean write(List<Article> batch) throws InterruptedException {
+        while (true) {
+            try {
+                articleService.articlesStored(() -> {
+                    insert(INSERT_SQL, batch);
+                    return batch;
+                });
+                return true;
+            } catch (DataIntegrityViolationException dive) {
+                articleService.articlesStored(() -> insertEach(batch));
+                return true;
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Writing {} queued articles failed, retrying", batch.size(), e);
+                if (!running) {
+                    return false;
+                }
+                Thread.sleep(writeBehind.getRetryDelay().toMillis());
+            }
+        }
+    }
+
+    private List<Article> insertEach(List<Article> batch) {
+        List<Article> stored = new ArrayList<>(batch.size());
+        for (Article article : batch) {
+            try {
+                insert(INSERT_SQL, List.of(article));
+                stored.add(article);
+            } catch (DataIntegrityViolationException dive) {
+                dropped.increment();
+                log.error("Dropping queued article {}", article.getId(), dive);
+            }
+        }
+        return stored;
+    }
+
+    private void insert(String sql, List<Article> articles) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, articles.stream()
+                .map(a -> new Object[]{a.getId(), a.getTitle(), a.getAuthor(), a.getContent(),
+                        Timestamp.from(a.getPublishingDate().toInstant())})
+                .toList()));
+    }
+
+    /**
+     * Every logged article is either written or queued, so once the queue
+     * is empty under the log lock the whole log is written
+     */
+    private void truncateLogIfDrained() {
+        logLock.lock();
+        try {
+            if (queue.isEmpty()) {
+                logChannel.truncate(0);
+            }
+        } catch (IOException ioe) {
+            log.warn("Truncating the write-behind log failed", ioe);
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Merge the articles of a previous run's log by id, so articles written
+     * before the crash are not duplicated. A torn last record is skipped.
+     */
+    private void recover(Path logPath) throws IOException {
+        if (!Files.exists(logPath) || Files.size(logPath) == 0) {
+            return;
+        }
+        List<Article> batch = new ArrayList<>(writeBehind.getBatchSize());
+        int recovered = 0;
+        try (MappingIterator<ArticleDto> iterator = objectMapper.readerFor(ArticleDto.class).readValues(logPath.toFile())) {
+            while (iterator.hasNextValue()) {
+                ArticleDto articleDto = iterator.nextValue();
+                Article article = articleMapper.toEntity(articleDto);
+                article.setId(articleDto.getId());
+                batch.add(article);
+                if (batch.size() == writeBehind.getBatchSize()) {
+                    insert(MERGE_SQL, batch);
+                    recovered += batch.size();
+                    batch = new ArrayList<>(writeBehind.getBatchSize());
+                }
+            }
+        } catch (JsonProcessingException jpe) {
+            log.warn("Skipping torn write-behind log record", jpe);
+        }
+        if (!batch.isEmpty()) {
+            insert(MERGE_SQL, batch);
+            recovered += batch.size();
+        }
+        log.info("Recovered {} articles from the write-behind log", recovered);
+        articleService.rebuildState();
+    }
+
+    private ByteBuffer toLogRecord(ArticleDto articleDto) {
+        try {
+            byte[] json = logWriter.writeValueAsBytes(articleDto);
+            ByteBuffer record = ByteBuffer.allocate(json.length + 1);
+            return record.put(json).put((byte) '\n').flip();
+        } catch (JsonProcessingException jpe) {
+            throw new UncheckedIOException(jpe);
+        }
+    }
+}
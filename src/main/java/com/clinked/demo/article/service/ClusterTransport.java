@@ -0,0 +1,29 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.model.dto.ClusterMessageDto;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cluster messages between the nodes of the application. Messages of
+ * a node reach every peer in the order they were sent or not at all, lost
+ * messages are detected by their sequence.
+ *
+ * @author mehmet.sahin
+ */
+public interface ClusterTransport {
+
+    /**
+     * Send a message to all peers without waiting for them
+     *
+     * @param message message of this node
+     */
+    void send(ClusterMessageDto message);
+
+    /**
+     * Set the receiver of messages from peers
+     *
+     * @param receiver receiver called with every message of a peer
+     */
+    void setReceiver(Consumer<ClusterMessageDto> receiver);
+}
@@ -0,0 +1,62 @@
+package com.clinked.demo.article.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory per-day publishing counters, so statistics can be answered
+ * without reading articles back from the database. A reset swaps in a new
+ * map, so readers see either all old or all new counters.
+ *
+ * @author mehmet.sahin
+ */
+@Component
+public class DailyPublishingCounter {
+
+    private volatile ConcurrentMap<LocalDate, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Increment the counter of a day
+     *
+     * @param day publishing day
+     */
+    public void increment(LocalDate day) {
+        counters.computeIfAbsent(day, d -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * Get the counter of a day
+     *
+     * @param day publishing day
+     * @return number of articles published on the day
+     */
+    public int get(LocalDate day) {
+        AtomicInteger counter = counters.get(day);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Replace all counters with the given day counts
+     *
+     * @param dayCounts article count per day
+     */
+    public void reset(Map<LocalDate, Integer> dayCounts) {
+        ConcurrentMap<LocalDate, AtomicInteger> rebuilt = new ConcurrentHashMap<>();
+        dayCounts.forEach((day, count) -> rebuilt.put(day, new AtomicInteger(count)));
+        counters = rebuilt;
+    }
+
+    /**
+     * Drop counters of days before the given day
+     *
+     * @param firstDay first day to keep
+     */
+    public void evictBefore(LocalDate firstDay) {
+        counters.keySet().removeIf(day -> day.isBefore(firstDay));
+    }
+}
@@ -0,0 +1,138 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ClusterMessageDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cluster transport posting messages to the peers' /article/cluster/messages
+ * endpoint. Every peer has a single sender with a bounded queue, so the
+ * messages reach it in order. A message that can not be delivered or does not
+ * fit the queue is dropped, the peer notices the gap and resyncs.
+ *
+ * @author mehmet.sahin
+ */
+@Slf4j
+public class HttpClusterTransport implements ClusterTransport, AutoCloseable {
+
+    public static final String MESSAGES_PATH = "/article/cluster/messages";
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final HttpClient httpClient;
+
+    private final ObjectWriter messageWriter;
+
+    private final List<Peer> peers;
+
+    private final byte[] secret;
+
+    private final Duration timeout;
+
+    private volatile Consumer<ClusterMessageDto> receiver;
+
+    public HttpClusterTransport(ArticleProperties.Cluster cluster, ObjectMapper objectMapper) {
+        if (cluster.getSecret() == null || cluster.getSecret().isBlank()) {
+            throw new IllegalStateException("article.cluster.secret is required by the http cluster transport");
+        }
+        this.secret = cluster.getSecret().getBytes(StandardCharsets.UTF_8);
+        this.timeout = cluster.getTimeout();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        this.messageWriter = objectMapper.writerFor(ClusterMessageDto.class);
+        this.peers = cluster.getPeers().stream()
+                .map(uri -> new Peer(uri.resolve(MESSAGES_PATH), new ThreadPoolExecutor(1, 1,
+                        0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(cluster.getQueueCapacity()),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "article-cluster-" + uri.getAuthority());
+                            thread.setDaemon(true);
+                            return thread;
+                        },
+                        new ThreadPoolExecutor.DiscardPolicy())))
+                .toList();
+    }
+
+    @Override
+    public void send(ClusterMessageDto message) {
+        byte[] body;
+        try {
+            body = messageWriter.writeValueAsBytes(message);
+        } catch (JsonProcessingException jpe) {
+            throw new IllegalStateException(jpe);
+        }
+        peers.forEach(peer -> peer.sender().execute(() -> post(peer.uri(), body)));
+    }
+
+    @Override
+    public void setReceiver(Consumer<ClusterMessageDto> receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Accept a message posted by a peer
+     *
+     * @param message message of the peer
+     * @param peerSecret secret sent by the peer
+     * @return false when the secret does not match
+     */
+    public boolean receive(ClusterMessageDto message, String peerSecret) {
+        if (peerSecret == null || !MessageDigest.isEqual(secret, peerSecret.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        Consumer<ClusterMessageDto> current = receiver;
+        if (current != null) {
+            current.accept(message);
+        }
+        return true;
+    }
+
+    private void post(URI uri, byte[] body) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                log.warn("Peer {} refused a cluster message with {}", uri, response.statusCode());
+            }
+        } catch (IOException ioe) {
+            log.debug("Peer {} is unreachable, dropping a cluster message", uri, ioe);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop sending, queued messages are dropped
+     */
+    @Override
+    public void close() {
+        peers.forEach(peer -> peer.sender().shutdownNow());
+    }
+
+    private record Peer(URI uri, ThreadPoolExecutor sender) {
+    }
+}
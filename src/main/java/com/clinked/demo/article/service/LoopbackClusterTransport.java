@@ -0,0 +1,93 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.model.dto.ClusterMessageDto;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Cluster transport between application contexts in one JVM, as used by
+ * tests running several nodes. Contexts with the same cluster name are peers,
+ * every node receives on its own thread so peers never wait for each other.
+ *
+ * @author mehmet.sahin
+ */
+public class LoopbackClusterTransport implements ClusterTransport, AutoCloseable {
+
+    private static final Map<String, Set<LoopbackClusterTransport>> CLUSTERS = new ConcurrentHashMap<>();
+
+    private final String cluster;
+
+    private final ExecutorService delivery;
+
+    private volatile Consumer<ClusterMessageDto> receiver;
+
+    private volatile boolean connected = true;
+
+    public LoopbackClusterTransport(String cluster) {
+        this.cluster = cluster;
+        this.delivery = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-cluster-loopback-" + cluster);
+            thread.setDaemon(true);
+            return thread;
+        });
+        CLUSTERS.computeIfAbsent(cluster, c -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void send(ClusterMessageDto message) {
+        for (LoopbackClusterTransport peer : CLUSTERS.getOrDefault(cluster, Set.of())) {
+            if (peer != this) {
+                peer.deliver(message);
+            }
+        }
+    }
+
+    @Override
+    public void setReceiver(Consumer<ClusterMessageDto> receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Connect or disconnect this node, messages sent to a disconnected node
+     * are lost like on a network partition
+     *
+     * @param connected whether messages are delivered
+     */
+    public void setConnected(boolean connected) {
+        this.connected = connected;
+    }
+
+    private void deliver(ClusterMessageDto message) {
+        if (!connected) {
+            return;
+        }
+        try {
+            delivery.execute(() -> {
+                Consumer<ClusterMessageDto> current = receiver;
+                if (current != null) {
+                    current.accept(message);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            // closed, the message is lost like on a stopped node
+        }
+    }
+
+    /**
+     * Leave the cluster
+     */
+    @Override
+    public void close() {
+        CLUSTERS.computeIfPresent(cluster, (c, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+        delivery.shutdownNow();
+    }
+}
@@ -0,0 +1,261 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory publishing counts per minute and per hour with the authors who
+ * published, kept in fixed size rings of time buckets. A bucket is claimed
+ * for its period with a compare-and-set when the ring wraps around onto it,
+ * and counts are striped LongAdders, so neither publishing nor reading ever
+ * locks. Articles published outside the reach of a ring are not counted.
+ *
+ * @author mehmet.sahin
+ */
+@Component
+public class PublishingRateCounter {
+
+    private static final Comparator<AuthorCount> RANKING = Comparator.comparingLong(AuthorCount::count)
+            .thenComparing(AuthorCount::author, Comparator.reverseOrder());
+
+    private volatile Ring minutes;
+
+    private volatile Ring hours;
+
+    public PublishingRateCounter(ArticleProperties articleProperties) {
+        ArticleProperties.Statistics statistics = articleProperties.getStatistics();
+        minutes = new Ring(Granularity.MINUTE, statistics.getMinuteBuckets());
+        hours = new Ring(Granularity.HOUR, statistics.getHourBuckets());
+    }
+
+    /**
+     * Count a published article
+     *
+     * @param publishingDate publishing date
+     * @param author author of the article
+     */
+    public void increment(Instant publishingDate, String author) {
+        Instant now = Instant.now();
+        minutes.add(publishingDate, now, author, 1);
+        hours.add(publishingDate, now, author, 1);
+    }
+
+    /**
+     * Replace the counts of a granularity
+     *
+     * @param granularity granularity of the counts
+     * @param counts article count per author and period
+     */
+    public void reset(Granularity granularity, List<AuthorPeriodCount> counts) {
+        Ring ring = getRing(granularity);
+        Ring rebuilt = new Ring(granularity, ring.size());
+        Instant now = Instant.now();
+        counts.forEach(c -> rebuilt.add(c.period(), now, c.author(), c.count()));
+        if (granularity == Granularity.MINUTE) {
+            minutes = rebuilt;
+        } else {
+            hours = rebuilt;
+        }
+    }
+
+    /**
+     * Maximum number of periods of a granularity that are counted
+     *
+     * @param granularity granularity of the periods
+     * @return number of periods up to the current one
+     */
+    public int getReach(Granularity granularity) {
+        return getRing(granularity).size();
+    }
+
+    /**
+     * Get the number of articles published in each of the last periods
+     *
+     * @param granularity granularity of the periods
+     * @param window number of periods up to the current one, at most the reach
+     * @return PeriodCount list, oldest period first
+     */
+    public List<PeriodCount> getCounts(Granularity granularity, int window) {
+        Ring ring = getRing(granularity);
+        long current = granularity.indexOf(Instant.now());
+        List<PeriodCount> counts = new ArrayList<>(window);
+        for (long index = current - window + 1; index <= current; index++) {
+            Bucket bucket = ring.get(index);
+            counts.add(new PeriodCount(granularity.startOf(index), bucket == null ? 0 : bucket.count.sum()));
+        }
+        return counts;
+    }
+
+    /**
+     * Get the authors who published most in the last periods
+     *
+     * @param granularity granularity of the periods
+     * @param window number of periods up to the current one, at most the reach
+     * @param limit maximum number of authors
+     * @return AuthorCount list, most articles first, ties by author name
+     */
+    public List<AuthorCount> getTopAuthors(Granularity granularity, int window, int limit) {
+        Ring ring = getRing(granularity);
+        long current = granularity.indexOf(Instant.now());
+        Map<String, Long> authors = new HashMap<>();
+        for (long index = current - window + 1; index <= current; index++) {
+            Bucket bucket = ring.get(index);
+            if (bucket != null) {
+                bucket.authors.forEach((author, count) -> authors.merge(author, count.sum(), Long::sum));
+            }
+        }
+        PriorityQueue<AuthorCount> top = new PriorityQueue<>(Math.max(limit, 1), RANKING);
+        authors.forEach((author, count) -> {
+            AuthorCount authorCount = new AuthorCount(author, count);
+            if (top.size() < limit) {
+                top.add(authorCount);
+            } else if (limit > 0 && RANKING.compare(authorCount, top.peek()) > 0) {
+                top.poll();
+                top.add(authorCount);
+            }
+        });
+        List<AuthorCount> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING.reversed());
+        return ranked;
+    }
+
+    private Ring getRing(Granularity granularity) {
+        return granularity == Granularity.MINUTE ? minutes : hours;
+    }
+
+    /**
+     * Period length of the counts
+     */
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS);
+
+        private final long seconds;
+
+        Granularity(ChronoUnit unit) {
+            this.seconds = unit.getDuration().getSeconds();
+        }
+
+        /**
+         * Resolve a requested granularity
+         *
+         * @param name minute or hour in any case, default is minute
+         * @return Granularity, null when not supported
+         */
+        public static Granularity of(String name) {
+            if (name == null || name.isEmpty()) {
+                return MINUTE;
+            }
+            for (Granularity granularity : values()) {
+                if (granularity.name().equalsIgnoreCase(name)) {
+                    return granularity;
+                }
+            }
+            return null;
+        }
+
+        private long indexOf(Instant instant) {
+            return Math.floorDiv(instant.getEpochSecond(), seconds);
+        }
+
+        private Instant startOf(long index) {
+            return Instant.ofEpochSecond(index * seconds);
+        }
+    }
+
+    /**
+     * Number of articles published in a period
+     *
+     * @param start start of the period
+     * @param count number of articles
+     */
+    public record PeriodCount(Instant start, long count) {
+    }
+
+    /**
+     * Number of articles of an author
+     *
+     * @param author author
+     * @param count number of articles
+     */
+    public record AuthorCount(String author, long count) {
+    }
+
+    /**
+     * Number of articles an author published in a period
+     *
+     * @param period any instant of the period
+     * @param author author
+     * @param count number of articles
+     */
+    public record AuthorPeriodCount(Instant period, String author, long count) {
+    }
+
+    private static final class Ring {
+
+        private final Granularity granularity;
+
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        private Ring(Granularity granularity, int size) {
+            this.granularity = granularity;
+            this.buckets = new AtomicReferenceArray<>(Math.max(size, 1));
+        }
+
+        private int size() {
+            return buckets.length();
+        }
+
+        private void add(Instant time, Instant now, String author, long count) {
+            long index = granularity.indexOf(time);
+            long current = granularity.indexOf(now);
+            if (index > current || index <= current - size()) {
+                return;
+            }
+            int slot = (int) Math.floorMod(index, (long) size());
+            Bucket bucket = buckets.get(slot);
+            while (bucket == null || bucket.index < index) {
+                Bucket claimed = new Bucket(index);
+                if (buckets.compareAndSet(slot, bucket, claimed)) {
+                    bucket = claimed;
+                } else {
+                    bucket = buckets.get(slot);
+                }
+            }
+            if (bucket.index == index) {
+                bucket.count.add(count);
+                bucket.authors.computeIfAbsent(author, a -> new LongAdder()).add(count);
+            }
+        }
+
+        private Bucket get(long index) {
+            Bucket bucket = buckets.get((int) Math.floorMod(index, (long) size()));
+            return bucket != null && bucket.index == index ? bucket : null;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long index;
+
+        private final LongAdder count = new LongAdder();
+
+        private final Map<String, LongAdder> authors = new ConcurrentHashMap<>();
+
+        private Bucket(long index) {
+            this.index = index;
+        }
+    }
+}
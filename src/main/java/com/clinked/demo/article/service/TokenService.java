@@ -0,0 +1,62 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.TokenDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author mehmet.sahin
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenService {
+
+    public static final String ROLES_CLAIM = "roles";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final JwtEncoder jwtEncoder;
+
+    private final ArticleProperties articleProperties;
+
+    /**
+     * Issue a signed stateless token carrying the roles of an authenticated user
+     *
+     * @param authentication authenticated user
+     * @return TokenDto
+     */
+    public TokenDto issueToken(Authentication authentication) {
+        Duration timeToLive = articleProperties.getSecurity().getTokenTimeToLive();
+        Instant now = Instant.now();
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(a -> a.startsWith(ROLE_PREFIX))
+                .map(a -> a.substring(ROLE_PREFIX.length()))
+                .toList();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(timeToLive))
+                .claim(ROLES_CLAIM, roles)
+                .build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+        return TokenDto.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .expiresIn(timeToLive.toSeconds())
+                .build();
+    }
+}
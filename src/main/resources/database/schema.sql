@@ -1,8 +1,15 @@
-DROP TABLE IF EXISTS ARTICLE;
-CREATE TABLE ARTICLE (
-      ID INT BIGINT AUTO_INCREMENT PRIMARY KEY,
+-- Article schema, version 4: matches the entities, applied on every start of the startup profile
+CREATE SEQUENCE IF NOT EXISTS ARTICLE_SEQ START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS ARTICLE (
+      ID BIGINT PRIMARY KEY,
       TITLE VARCHAR(50) NOT NULL,
       AUTHOR VARCHAR(50) NOT NULL,
       CONTENT VARCHAR(100) NOT NULL,
-      PUBLISHING_DATE TIMESTAMP NOT NULL
-);
\ No newline at end of file
+      PUBLISHING_DATE TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS IDX_ARTICLE_PUBLISHING_DATE_ID ON ARTICLE (PUBLISHING_DATE, ID);
+CREATE INDEX IF NOT EXISTS IDX_ARTICLE_PUBLISHING_DATE_DESC_ID ON ARTICLE (PUBLISHING_DATE DESC, ID DESC);
+CREATE INDEX IF NOT EXISTS IDX_ARTICLE_AUTHOR_PUBLISHING_DATE_ID ON ARTICLE (AUTHOR, PUBLISHING_DATE DESC, ID DESC);
+CREATE INDEX IF NOT EXISTS IDX_ARTICLE_ID_DESC ON ARTICLE (ID DESC);
+CREATE INDEX IF NOT EXISTS IDX_ARTICLE_TITLE_ID ON ARTICLE (TITLE, ID);
+CREATE INDEX IF NOT EXISTS IDX_ARTICLE_TITLE_DESC_ID ON ARTICLE (TITLE DESC, ID DESC);
@@ -0,0 +1,160 @@
+package com.clinked.demo.article;
+
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.repository.ArticleRepository;
+import com.clinked.demo.article.service.ArticleService;
+import com.clinked.demo.article.service.ArticleSortOrder;
+import com.clinked.demo.article.service.LoopbackClusterTransport;
+import com.clinked.demo.article.service.PublishingRateCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs three nodes sharing one database in this JVM, connected by the
+ * loopback cluster transport
+ */
+class ArticleClusterIntegrationTest {
+
+    private static final int NODES = 3;
+
+    private static final int WRITERS = 4;
+
+    private static final String TOKEN_SECRET = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        String cluster = UUID.randomUUID().toString();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(ArticleApplication.class).run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:" + cluster + ";DB_CLOSE_DELAY=-1",
+                    "--spring.jpa.properties.hibernate.show_sql=false",
+                    "--article.cluster.transport=loopback",
+                    "--article.security.token-secret=" + TOKEN_SECRET,
+                    "--article.cluster.name=" + cluster,
+                    "--article.cluster.heartbeat=200ms"));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private static ArticleService articleService(int node) {
+        return nodes.get(node).getBean(ArticleService.class);
+    }
+
+    private static ArticleDto createArticleDto(String title) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle(title);
+        articleDto.setAuthor("Cluster Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+        return articleDto;
+    }
+
+    private static Page<ArticleDto> firstPage(int node) {
+        return articleService(node).getArticles(0, 10, ArticleSortOrder.of(null), false, null);
+    }
+
+    private static long publishedLastHour(int node) {
+        return articleService(node).getPublishingRates(PublishingRateCounter.Granularity.MINUTE, 60).getTotal();
+    }
+
+    private static long publishedToday(int node) {
+        return articleService(node).getStatistics(1, null).getStatisticsDayDtoList().get(0).getCount();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void createOnOneNodeUpdatesAllNodes() throws Exception {
+        long before = publishedLastHour(1);
+        for (int node = 1; node < NODES; node++) {
+            firstPage(node);
+        }
+
+        ArticleDto created = articleService(0).createArticle(createArticleDto("Replicated"));
+
+        for (int node = 1; node < NODES; node++) {
+            int peer = node;
+            await(() -> firstPage(peer).getContent().stream().anyMatch(a -> a.getId().equals(created.getId())));
+            await(() -> publishedLastHour(peer) == before + 1);
+            await(() -> articleService(peer).searchArticles("replicated", null, 0, 10).getTotalElements() == 1);
+        }
+    }
+
+    @Test
+    void rebuildOnOneNodeRebuildsAllNodes() throws Exception {
+        long before = publishedLastHour(2);
+        nodes.get(1).getBean(ArticleRepository.class)
+                .save(nodes.get(1).getBean(ArticleMapper.class).toEntity(createArticleDto("Stored outside")));
+
+        articleService(1).rebuildState();
+
+        for (int node = 0; node < NODES; node++) {
+            int peer = node;
+            await(() -> publishedLastHour(peer) == before + 1);
+        }
+    }
+
+    @Test
+    void resyncWhileWritesContinueCountsEachArticleOnce() throws Exception {
+        int articles = 200;
+        long before = publishedLastHour(2);
+        long beforeToday = publishedToday(2);
+        LoopbackClusterTransport transport = nodes.get(2).getBean(LoopbackClusterTransport.class);
+
+        AtomicInteger written = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writing = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writing.add(writers.submit(() -> {
+                    for (int i = written.getAndIncrement(); i < articles; i = written.getAndIncrement()) {
+                        // node 2 misses a few messages and resyncs while the next ones are queued
+                        transport.setConnected(i < articles / 4 || i >= articles / 4 + 5);
+                        articleService(0).createArticle(createArticleDto("Gap " + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : writing) {
+                future.get();
+            }
+        } finally {
+            transport.setConnected(true);
+            writers.shutdown();
+        }
+
+        await(() -> publishedLastHour(2) == before + articles);
+        await(() -> publishedToday(2) == beforeToday + articles);
+        await(() -> articleService(2).searchArticles("gap", null, 0, 10).getTotalElements() == articles);
+    }
+}
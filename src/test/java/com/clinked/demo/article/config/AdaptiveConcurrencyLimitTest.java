@@ -0,0 +1,109 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong time = new AtomicLong();
+
+    private final ArticleProperties.ConcurrencyLimit properties = new ArticleProperties.ConcurrencyLimit();
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @BeforeEach
+    public void setUp() {
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(12);
+        concurrencyLimit = new AdaptiveConcurrencyLimit(properties, new SimpleMeterRegistry(), time::get);
+    }
+
+    private void record(int calls, long millis) {
+        for (int i = 0; i < calls; i++) {
+            concurrencyLimit.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    @Test
+    public void rejectBeyondLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(concurrencyLimit.tryAcquire());
+        }
+        assertFalse(concurrencyLimit.tryAcquire());
+
+        concurrencyLimit.release();
+        assertTrue(concurrencyLimit.tryAcquire());
+    }
+
+    @Test
+    public void lowerLimitWhenLatencyRises() {
+        record(100, 2);
+        record(20, 20);
+
+        for (int i = 0; i < 3; i++) {
+            concurrencyLimit.tryAcquire();
+            concurrencyLimit.release();
+        }
+        assertEquals(9, concurrencyLimit.getLimit());
+
+        for (int i = 0; i < 30; i++) {
+            time.addAndGet(AdaptiveConcurrencyLimit.BACKOFF_INTERVAL);
+            concurrencyLimit.tryAcquire();
+            concurrencyLimit.release();
+        }
+        assertEquals(2, concurrencyLimit.getLimit());
+    }
+
+    @Test
+    public void raiseLimitWhileInFullUseAndLatencyNormal() {
+        record(100, 2);
+
+        while (concurrencyLimit.tryAcquire()) {
+            // fill the limit
+        }
+        for (int i = 0; i < 50; i++) {
+            concurrencyLimit.release();
+            while (concurrencyLimit.tryAcquire()) {
+                // requests keep waiting
+            }
+        }
+        assertEquals(12, concurrencyLimit.getLimit());
+
+        concurrencyLimit.release();
+        assertEquals(12, concurrencyLimit.getLimit());
+    }
+
+    @Test
+    public void shedRequestsBeyondLimitWithServiceUnavailable() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(concurrencyLimit, new SimpleMeterRegistry());
+        for (int i = 0; i < 10; i++) {
+            concurrencyLimit.tryAcquire();
+        }
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/article/list"), shed, new MockFilterChain());
+        MockHttpServletResponse feed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/article/feed"), feed, new MockFilterChain());
+        concurrencyLimit.release();
+        MockHttpServletResponse admitted = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/article/list"), admitted, new MockFilterChain());
+
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertEquals(200, feed.getStatus());
+        assertEquals(200, admitted.getStatus());
+        assertTrue(concurrencyLimit.tryAcquire());
+    }
+}
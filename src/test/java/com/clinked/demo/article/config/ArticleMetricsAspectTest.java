@@ -0,0 +1,51 @@
+package com.clinked.demo.article.config;
+
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.mapper.ArticleMapperImpl;
+import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.repository.ArticleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class ArticleMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ArticleMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+
+    @Test
+    public void recordRowsReturnedByRepository() {
+        ArticleRepository articleRepository = Mockito.mock(ArticleRepository.class);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(articleRepository.findAllBy(pageable))
+                .thenReturn(new SliceImpl<>(List.of(new Article(), new Article()), pageable, false));
+
+        proxy(articleRepository).findAllBy(pageable);
+
+        assertEquals(2.0, meterRegistry.get("article.repository.rows").tag("method", "findAllBy")
+                .summary().totalAmount());
+    }
+
+    @Test
+    public void timeMapping() {
+        ArticleMapper articleMapper = proxy(new ArticleMapperImpl());
+
+        articleMapper.toDtos(List.of(new Article()));
+
+        assertEquals(1, meterRegistry.get("article.mapping").tag("method", "toDtos").timer().count());
+    }
+}
@@ -0,0 +1,73 @@
+package com.clinked.demo.article.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArticleSequenceMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private ArticleSequenceMigration migration;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migration = new ArticleSequenceMigration(dataSource, 50);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    private void createIdentityTable(int rows) {
+        jdbcTemplate.execute("CREATE TABLE ARTICLE (ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY)");
+        for (int i = 0; i < rows; i++) {
+            jdbcTemplate.update("INSERT INTO ARTICLE DEFAULT VALUES");
+        }
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR ARTICLE_SEQ", Long.class);
+    }
+
+    @Test
+    public void skipNewDatabase() {
+        assertEquals(0, migration.migrate());
+    }
+
+    @Test
+    public void createSequenceAboveIdentityIds() {
+        createIdentityTable(120);
+
+        assertEquals(170, migration.migrate());
+        assertEquals(170, nextValue());
+    }
+
+    @Test
+    public void restartSequenceStartedBelowStoredIds() {
+        createIdentityTable(120);
+        jdbcTemplate.execute("CREATE SEQUENCE ARTICLE_SEQ START WITH 1 INCREMENT BY 50");
+
+        migration.migrate();
+
+        assertTrue(nextValue() - 49 > 120);
+    }
+
+    @Test
+    public void keepSequenceAboveStoredIds() {
+        createIdentityTable(10);
+        jdbcTemplate.execute("CREATE SEQUENCE ARTICLE_SEQ START WITH 1001 INCREMENT BY 50");
+
+        assertEquals(1001, migration.migrate());
+        assertEquals(1001, nextValue());
+    }
+}
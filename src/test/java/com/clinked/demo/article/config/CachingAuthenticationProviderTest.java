@@ -0,0 +1,61 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachingAuthenticationProviderTest {
+
+    private final AtomicInteger passwordChecks = new AtomicInteger();
+
+    private CachingAuthenticationProvider createProvider() {
+        DaoAuthenticationProvider delegate = new DaoAuthenticationProvider() {
+            @Override
+            public Authentication authenticate(Authentication authentication) {
+                passwordChecks.incrementAndGet();
+                return super.authenticate(authentication);
+            }
+        };
+        delegate.setUserDetailsService(new InMemoryUserDetailsManager(User.withDefaultPasswordEncoder()
+                .username("admin")
+                .password("admin123")
+                .roles("ADMIN")
+                .build()));
+        return new CachingAuthenticationProvider(delegate, 10, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void checkPasswordHashOncePerCredentials() {
+        CachingAuthenticationProvider provider = createProvider();
+
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin123"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin123"));
+
+        assertSame(first, second);
+        assertEquals(1, passwordChecks.get());
+    }
+
+    @Test
+    public void neverCacheFailedAttempts() {
+        CachingAuthenticationProvider provider = createProvider();
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin123"));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin12")));
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin", "admin12")));
+        assertEquals(3, passwordChecks.get());
+    }
+}
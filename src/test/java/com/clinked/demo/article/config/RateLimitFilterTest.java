@@ -0,0 +1,95 @@
+package com.clinked.demo.article.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RateLimitFilterTest {
+
+    private final AtomicLong time = new AtomicLong();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TokenBucketRateLimiter writeLimiter;
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    public void setUp() {
+        writeLimiter = new TokenBucketRateLimiter(1, 3, 100, time::get);
+        TokenBucketRateLimiter adminLimiter = new TokenBucketRateLimiter(1, 1, 100, time::get);
+        rateLimitFilter = new RateLimitFilter(writeLimiter, adminLimiter, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse send(String method, String path, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    public void admitBurstThenRejectUntilRefilled() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, send("POST", "/article", "10.0.0.1").getStatus());
+        }
+
+        MockHttpServletResponse rejected = send("POST", "/article", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals("{\"errors\":[\"Too many requests, please retry later.\"]}", rejected.getContentAsString());
+        assertEquals(200, send("POST", "/article", "10.0.0.2").getStatus());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(200, send("POST", "/article", "10.0.0.1").getStatus());
+        assertEquals(429, send("POST", "/article", "10.0.0.1").getStatus());
+        assertEquals(5, meterRegistry.get(RateLimitFilter.ADMITTED_METRIC).counter().count());
+        assertEquals(2, meterRegistry.get(RateLimitFilter.REJECTED_METRIC).counter().count());
+    }
+
+    @Test
+    public void doNotLimitReads() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, send("GET", "/article/list", "10.0.0.1").getStatus());
+        }
+        assertEquals(0, writeLimiter.getTrackedClients());
+    }
+
+    @Test
+    public void limitAuthenticatedUserOverAllAddresses() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        assertEquals(200, send("GET", "/article/statistics", "10.0.0.1").getStatus());
+        assertEquals(429, send("GET", "/article/statistics/rates", "10.0.0.2").getStatus());
+        assertEquals(200, send("POST", "/article", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    public void forgetClientsOnceRefilled() throws Exception {
+        send("POST", "/article", "10.0.0.1");
+        send("POST", "/article", "10.0.0.2");
+        assertEquals(2, writeLimiter.getTrackedClients());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(3) + 1);
+        assertEquals(0, writeLimiter.getTrackedClients());
+    }
+}
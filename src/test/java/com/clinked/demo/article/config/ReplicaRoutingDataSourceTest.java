@@ -0,0 +1,115 @@
+package com.clinked.demo.article.config;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    private DataSource createDatabase(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS NODE (NAME VARCHAR(20))");
+        template.execute("DELETE FROM NODE");
+        template.update("INSERT INTO NODE VALUES (?)", name);
+        return dataSource;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+        DataSource primary = createDatabase(ReplicaRoutingDataSource.PRIMARY);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primary,
+                ReplicaRoutingDataSource.REPLICA, createDatabase(ReplicaRoutingDataSource.REPLICA)));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    private String node(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT NAME FROM NODE", String.class));
+    }
+
+    @Test
+    public void routeReadOnlyTransactionsToReplica() {
+        assertEquals(ReplicaRoutingDataSource.REPLICA, node(readOnly));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, node(readWrite));
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, jdbcTemplate.queryForObject("SELECT NAME FROM NODE", String.class));
+
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, node(readOnly));
+    }
+
+    @Test
+    public void readFromPrimaryAfterOwnWrite() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                primaryRequired.set(ReplicaRoutingDataSource.isPrimaryRequired());
+            }
+        };
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/article"), writeResponse, chain);
+        assertTrue(primaryRequired.get());
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/article/list");
+        read.setCookies(cookie);
+        filter.doFilter(read, new MockHttpServletResponse(), chain);
+        assertTrue(primaryRequired.get());
+        assertFalse(ReplicaRoutingDataSource.isPrimaryRequired());
+
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/article/list");
+        stale.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() - 6000)));
+        filter.doFilter(stale, new MockHttpServletResponse(), chain);
+        assertFalse(primaryRequired.get());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/article/list"), new MockHttpServletResponse(), chain);
+        assertFalse(primaryRequired.get());
+    }
+}
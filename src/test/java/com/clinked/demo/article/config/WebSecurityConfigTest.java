@@ -0,0 +1,38 @@
+package com.clinked.demo.article.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WebSecurityConfigTest {
+
+    private static final String TOKEN_SECRET = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private final WebSecurityConfig webSecurityConfig = new WebSecurityConfig();
+
+    private final ArticleProperties articleProperties = new ArticleProperties();
+
+    @Test
+    public void generateTokenKeyOnSingleNode() throws Exception {
+        assertNotNull(webSecurityConfig.tokenKey(articleProperties));
+    }
+
+    @Test
+    public void requireTokenSecretWithClusterTransport() throws Exception {
+        articleProperties.getCluster().setTransport("http");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> webSecurityConfig.tokenKey(articleProperties));
+        assertEquals("article.security.token-secret is required by a cluster transport", exception.getMessage());
+
+        articleProperties.getSecurity().setTokenSecret(TOKEN_SECRET);
+        SecretKey tokenKey = webSecurityConfig.tokenKey(articleProperties);
+        assertArrayEquals(Base64.getDecoder().decode(TOKEN_SECRET), tokenKey.getEncoded());
+    }
+}
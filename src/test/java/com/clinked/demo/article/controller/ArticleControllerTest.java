@@ -0,0 +1,75 @@
+package com.clinked.demo.article.controller;
+
+import com.clinked.demo.article.config.GlobalExceptionHandler;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.service.ArticleBulkService;
+import com.clinked.demo.article.service.ArticleDataVersion;
+import com.clinked.demo.article.service.ArticleExportService;
+import com.clinked.demo.article.service.ArticleFeed;
+import com.clinked.demo.article.service.ArticleService;
+import com.clinked.demo.article.service.ArticleWriteBehindService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ArticleControllerTest {
+
+    private static final String ARTICLE = "{\"title\":\"%s\",\"author\":\"%s\",\"content\":\"Content\","
+            + "\"publishingDate\":\"2023-02-01T10:00:00Z\"}";
+
+    private final ArticleWriteBehindService articleWriteBehindService = Mockito.mock(ArticleWriteBehindService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        ArticleController articleController = new ArticleController(Mockito.mock(ArticleService.class),
+                Mockito.mock(ArticleBulkService.class),
+                Mockito.mock(ArticleExportService.class),
+                Optional.of(articleWriteBehindService),
+                Mockito.mock(ArticleDataVersion.class),
+                Mockito.mock(ArticleFeed.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(articleController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void acceptArticleWrittenBehind() throws Exception {
+        when(articleWriteBehindService.enqueue(any())).thenAnswer(invocation -> {
+            ArticleDto accepted = invocation.getArgument(0);
+            accepted.setId(1L);
+            return accepted;
+        });
+
+        mockMvc.perform(post("/article")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(ARTICLE, "Title", "Author")))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    public void rejectOversizedArticleBeforeWritingBehind() throws Exception {
+        mockMvc.perform(post("/article")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format(ARTICLE, "Title", "A".repeat(51))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Author can not exceed 50 characters."));
+
+        verify(articleWriteBehindService, never()).enqueue(any());
+    }
+}
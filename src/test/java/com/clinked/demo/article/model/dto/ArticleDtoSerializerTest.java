@@ -0,0 +1,75 @@
+package com.clinked.demo.article.model.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArticleDtoSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ObjectMapper reflectiveMapper = objectMapper.copy()
+            .addMixIn(ArticleDto.class, Reflective.class);
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface Reflective {
+    }
+
+    private ArticleDto createArticleDto(ZonedDateTime publishingDate) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setId(42L);
+        articleDto.setTitle("Title \"quoted\"");
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content ü");
+        articleDto.setPublishingDate(publishingDate);
+        return articleDto;
+    }
+
+    @Test
+    public void writeSameJsonAsReflectiveSerialization() throws Exception {
+        ArticleDto articleDto = createArticleDto(
+                ZonedDateTime.of(2023, 2, 1, 10, 15, 30, 123_000_000, ZoneId.of("Europe/Istanbul")));
+        assertEquals(reflectiveMapper.writeValueAsString(articleDto), objectMapper.writeValueAsString(articleDto));
+
+        ArticleDto empty = new ArticleDto();
+        assertEquals(reflectiveMapper.writeValueAsString(empty), objectMapper.writeValueAsString(empty));
+    }
+
+    @Test
+    public void followDateSettings() throws Exception {
+        ArticleDto articleDto = createArticleDto(ZonedDateTime.of(2023, 2, 1, 10, 0, 0, 0, ZoneOffset.ofHours(3)));
+
+        ObjectMapper utc = objectMapper.copy().setTimeZone(TimeZone.getTimeZone("UTC"));
+        assertEquals(reflectiveMapper.copy().setTimeZone(TimeZone.getTimeZone("UTC")).writeValueAsString(articleDto),
+                utc.writeValueAsString(articleDto));
+
+        ObjectMapper timestamps = objectMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        assertEquals(reflectiveMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValueAsString(articleDto), timestamps.writeValueAsString(articleDto));
+    }
+
+    @Test
+    public void writeSameCborAsReflectiveSerialization() throws Exception {
+        ArticleDto articleDto = createArticleDto(ZonedDateTime.now());
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory())
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        assertArrayEquals(cbor.copy().addMixIn(ArticleDto.class, Reflective.class).writeValueAsBytes(articleDto),
+                cbor.writeValueAsBytes(articleDto));
+    }
+}
@@ -0,0 +1,193 @@
+package com.clinked.demo.article.repository;
+
+import com.clinked.demo.article.model.dto.ArticleFilterDto;
+import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.model.projection.PublishingAuthorCount;
+import com.clinked.demo.article.model.projection.PublishingHourCount;
+import com.clinked.demo.article.service.ArticleSortOrder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+public class ArticleRepositoryTest {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Article createArticle(ZonedDateTime publishingDate) {
+        Article article = new Article();
+        article.setTitle("Title");
+        article.setAuthor("Author");
+        article.setContent("Content");
+        article.setPublishingDate(publishingDate);
+        return articleRepository.save(article);
+    }
+
+    @Test
+    public void countArticlesPerAuthorAndMinuteSince() {
+        ZonedDateTime minute = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.MINUTES).minusHours(1);
+        createArticle(minute.plusSeconds(5));
+        createArticle(minute.plusSeconds(50));
+        createArticle(minute.plusMinutes(1));
+        createArticle(minute.minusDays(2));
+
+        List<PublishingAuthorCount> perMinute = articleRepository.countArticlesPerAuthorAndMinuteSince(minute.minusHours(1));
+        List<PublishingAuthorCount> perHour = articleRepository.countArticlesPerAuthorAndHourSince(minute.minusHours(1));
+
+        assertEquals(2, perMinute.size());
+        PublishingAuthorCount first = perMinute.stream()
+                .filter(m -> m.getMinute() == minute.getMinute() && m.getHour() == minute.getHour())
+                .findFirst().orElseThrow();
+        assertEquals("Author", first.getAuthor());
+        assertEquals(minute.toLocalDate(), first.getDay());
+        assertEquals(2L, first.getCount());
+        assertEquals(3L, perHour.stream().mapToLong(PublishingAuthorCount::getCount).sum());
+        assertTrue(perHour.stream().allMatch(h -> h.getMinute() == 0));
+    }
+
+    @Test
+    public void countArticlesPerHourSince() {
+        ZonedDateTime hour = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.HOURS).minusDays(1);
+        createArticle(hour.plusMinutes(5));
+        createArticle(hour.plusMinutes(55));
+        createArticle(hour.plusHours(1));
+        createArticle(hour.minusDays(10));
+
+        List<PublishingHourCount> result = articleRepository.countArticlesPerHourSince(hour.minusDays(2));
+
+        assertEquals(2, result.size());
+        PublishingHourCount first = result.stream()
+                .filter(h -> h.getHour() == hour.getHour() && h.getDay().equals(hour.toLocalDate()))
+                .findFirst().orElseThrow();
+        assertEquals(2L, first.getCount());
+    }
+
+    @Test
+    public void findArticlesBeforeScrollsWithoutGapsOnEqualDates() {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Article a1 = createArticle(now.minusHours(1));
+        Article a2 = createArticle(now);
+        Article a3 = createArticle(now);
+        Article a4 = createArticle(now.minusHours(2));
+
+        Slice<Article> first = articleRepository.findAllBy(PageRequest.of(0, 2,
+                Sort.by(Sort.Direction.DESC, "publishingDate", "id")));
+        assertTrue(first.hasNext());
+        assertEquals(List.of(a3.getId(), a2.getId()), first.map(Article::getId).getContent());
+
+        Article last = first.getContent().get(1);
+        Slice<Article> second = articleRepository.findArticlesBefore(last.getPublishingDate(), last.getId(),
+                PageRequest.of(0, 2));
+        assertFalse(second.hasNext());
+        assertEquals(List.of(a1.getId(), a4.getId()), second.map(Article::getId).getContent());
+
+        Slice<Article> ascending = articleRepository.findArticlesAfter(a1.getPublishingDate(), a1.getId(),
+                PageRequest.of(0, 10));
+        assertEquals(List.of(a2.getId(), a3.getId()), ascending.map(Article::getId).getContent());
+    }
+
+    @Test
+    public void streamArticlesWithOptionalRange() {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Article a1 = createArticle(now.minusDays(3));
+        Article a2 = createArticle(now.minusDays(2));
+        Article a3 = createArticle(now.minusDays(1));
+
+        try (Stream<Article> articles = articleRepository.streamArticles(null, null)) {
+            assertEquals(List.of(a1.getId(), a2.getId(), a3.getId()), articles.map(Article::getId).toList());
+        }
+        try (Stream<Article> articles = articleRepository.streamArticles(a2.getPublishingDate(), null)) {
+            assertEquals(List.of(a2.getId(), a3.getId()), articles.map(Article::getId).toList());
+        }
+        try (Stream<Article> articles = articleRepository.streamArticles(null, a2.getPublishingDate())) {
+            assertEquals(List.of(a1.getId()), articles.map(Article::getId).toList());
+        }
+    }
+
+    @Test
+    public void findAllFiltered() {
+        ZonedDateTime now = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        Article a1 = createArticle(now.minusDays(3));
+        Article a2 = createArticle(now.minusDays(2));
+        Article a3 = createArticle(now.minusDays(1));
+        a2.setAuthor("Other");
+        a3.setTitle("Subtitle");
+
+        ArticleFilterDto filter = new ArticleFilterDto();
+        filter.setAuthor("Author");
+        filter.setStartDate(now.minusDays(4));
+        filter.setEndDate(now.minusHours(1));
+        filter.setTitlePrefix("Tit");
+        Page<Article> page = articleRepository.findAll(ArticleSpecifications.of(filter),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "publishingDate", "id")));
+
+        assertEquals(List.of(a1.getId()), page.map(Article::getId).getContent());
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    public void filtersUseIndexes() {
+        entityManager.createNativeQuery("INSERT INTO ARTICLE (ID, TITLE, AUTHOR, CONTENT, PUBLISHING_DATE) "
+                + "SELECT 1000000 + X, 'Title' || X, 'Author' || MOD(X, 100), 'Content', "
+                + "DATEADD('MINUTE', -X, CURRENT_TIMESTAMP) FROM SYSTEM_RANGE(1, 10000)").executeUpdate();
+
+        String author = "A.AUTHOR = 'Author1'";
+        String dateRange = "A.PUBLISHING_DATE >= DATEADD('DAY', -1, CURRENT_TIMESTAMP) "
+                + "AND A.PUBLISHING_DATE < CURRENT_TIMESTAMP";
+        String titlePrefix = "A.TITLE >= 'Title1' AND A.TITLE < 'Title2'";
+        assertPlanUses("TRUE", "IDX_ARTICLE_PUBLISHING_DATE_DESC_ID");
+        assertPlanUses(author, "IDX_ARTICLE_AUTHOR_PUBLISHING_DATE_ID");
+        assertPlanUses(dateRange, "IDX_ARTICLE_PUBLISHING_DATE_DESC_ID");
+        assertPlanUses(titlePrefix, "IDX_ARTICLE_TITLE_ID");
+        assertPlanUses(author + " AND " + dateRange, "IDX_ARTICLE_AUTHOR_PUBLISHING_DATE_ID");
+        assertPlanUses(author + " AND " + titlePrefix, "IDX_ARTICLE_AUTHOR_PUBLISHING_DATE_ID");
+        assertPlanUses(dateRange + " AND " + titlePrefix, "IDX_ARTICLE_PUBLISHING_DATE_DESC_ID", "IDX_ARTICLE_TITLE_ID");
+    }
+
+    @Test
+    public void sortOrdersUseIndexes() {
+        entityManager.createNativeQuery("INSERT INTO ARTICLE (ID, TITLE, AUTHOR, CONTENT, PUBLISHING_DATE) "
+                + "SELECT 1000000 + X, 'Title' || X, 'Author', 'Content', CURRENT_TIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, 10000)").executeUpdate();
+
+        for (ArticleSortOrder sortOrder : ArticleSortOrder.values()) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                String orderBy = sortOrder.getSort(ascending).stream()
+                        .map(o -> o.getProperty().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase()
+                                + " " + o.getDirection())
+                        .collect(Collectors.joining(", "));
+                String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT * FROM ARTICLE ORDER BY "
+                        + orderBy + " FETCH FIRST 10 ROWS ONLY").getSingleResult();
+                assertTrue(plan.contains("/* index sorted */"), plan);
+            }
+        }
+    }
+
+    private void assertPlanUses(String where, String... indexes) {
+        String plan = (String) entityManager.createNativeQuery("EXPLAIN SELECT * FROM ARTICLE A WHERE " + where
+                + " ORDER BY A.PUBLISHING_DATE DESC FETCH FIRST 10 ROWS ONLY").getSingleResult();
+        assertTrue(Arrays.stream(indexes).anyMatch(index -> plan.contains("/* PUBLIC." + index)), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+}
@@ -0,0 +1,93 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.BulkResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleBulkServiceTest {
+
+    private static final String VALID = "{\"title\":\"Title%d\",\"author\":\"Author\",\"content\":\"Content\","
+            + "\"publishingDate\":\"2023-02-01T10:00:00Z\"}";
+
+    @Mock
+    private ArticleService articleService;
+
+    private ArticleBulkService articleBulkService;
+
+    @BeforeEach
+    public void setUp() {
+        ArticleProperties articleProperties = new ArticleProperties();
+        articleProperties.getBulk().setBatchSize(2);
+        articleBulkService = new ArticleBulkService(new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                articleService,
+                articleProperties);
+    }
+
+    private BulkResultDto createArticles(String body) throws IOException {
+        return articleBulkService.createArticles(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createArticlesFromJsonArrayInBatches() throws IOException {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(articleService.createArticles(anyList())).thenAnswer(i -> {
+            batchSizes.add(((List<ArticleDto>) i.getArgument(0)).size());
+            return batchSizes.get(batchSizes.size() - 1);
+        });
+
+        BulkResultDto result = createArticles("[" + String.format(VALID, 1) + "," + String.format(VALID, 2) + ","
+                + String.format(VALID, 3) + "]");
+
+        assertEquals(3, result.getCreated());
+        assertEquals(0, result.getErrorList().size());
+        assertEquals(List.of(2, 1), batchSizes);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createArticlesFromNdjsonReportsItemErrors() throws IOException {
+        when(articleService.createArticles(anyList())).thenAnswer(i -> ((List<ArticleDto>) i.getArgument(0)).size());
+
+        BulkResultDto result = createArticles(String.format(VALID, 1) + "\n"
+                + "{\"title\":\"Title\",\"author\":\"\",\"content\":\"Content\",\"publishingDate\":\"2023-02-01T10:00:00Z\"}\n"
+                + "{\"title\":\"Title\",\"author\":\"Author\",\"content\":\"Content\",\"publishingDate\":\"yesterday\"}\n"
+                + "{\"title\":\"" + "T".repeat(51) + "\",\"author\":\"Author\",\"content\":\"Content\","
+                + "\"publishingDate\":\"2023-02-01T10:00:00Z\"}\n"
+                + String.format(VALID, 4) + "\n");
+
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getErrorList().size());
+        assertEquals(1, result.getErrorList().get(0).getIndex());
+        assertEquals(List.of("Author can not be blank."), result.getErrorList().get(0).getErrors());
+        assertEquals(2, result.getErrorList().get(1).getIndex());
+        assertEquals(3, result.getErrorList().get(2).getIndex());
+        assertEquals(List.of("Title can not exceed 50 characters."), result.getErrorList().get(2).getErrors());
+
+        ArgumentCaptor<List<ArticleDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(articleService, times(1)).createArticles(captor.capture());
+        assertEquals("Title4", captor.getValue().get(1).getTitle());
+    }
+}
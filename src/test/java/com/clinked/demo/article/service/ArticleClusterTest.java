@@ -0,0 +1,112 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.ClusterMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ArticleClusterTest {
+
+    private final ArticleService articleService = Mockito.mock(ArticleService.class);
+
+    private final List<ClusterMessageDto> sent = new ArrayList<>();
+
+    private ArticleCluster articleCluster;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        ObjectProvider<ArticleService> provider = Mockito.mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(articleService);
+        ClusterTransport transport = new ClusterTransport() {
+            @Override
+            public void send(ClusterMessageDto message) {
+                sent.add(message);
+            }
+
+            @Override
+            public void setReceiver(Consumer<ClusterMessageDto> receiver) {
+            }
+        };
+        articleCluster = new ArticleCluster(Optional.of(transport), provider, new ArticleProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        articleCluster.stop();
+    }
+
+    private static ClusterMessageDto message(long sequence, ClusterMessageDto.Type type) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setId(sequence);
+        return new ClusterMessageDto("peer", sequence, type,
+                type == ClusterMessageDto.Type.STORED ? List.of(articleDto) : List.of());
+    }
+
+    @Test
+    public void sendStoredArticlesInSequence() {
+        articleCluster.articlesStored(List.of(new ArticleDto()));
+        articleCluster.articlesStored(List.of());
+        articleCluster.stateRebuilt();
+
+        assertEquals(2, sent.size());
+        assertEquals(1, sent.get(0).getSequence());
+        assertEquals(ClusterMessageDto.Type.STORED, sent.get(0).getType());
+        assertEquals(2, sent.get(1).getSequence());
+        assertEquals(articleCluster.getNode(), sent.get(1).getNode());
+    }
+
+    @Test
+    public void applyMessagesInSequence() {
+        articleCluster.apply(message(1, ClusterMessageDto.Type.STORED));
+        articleCluster.apply(message(2, ClusterMessageDto.Type.STORED));
+        articleCluster.apply(message(2, ClusterMessageDto.Type.STORED));
+        articleCluster.apply(message(3, ClusterMessageDto.Type.REBUILT));
+        articleCluster.apply(message(3, ClusterMessageDto.Type.HEARTBEAT));
+
+        verify(articleService, times(2)).articlesStoredOnPeer(anyList());
+        verify(articleService, times(1)).rebuildLocalState();
+    }
+
+    @Test
+    public void resyncOnMissedMessage() {
+        articleCluster.apply(message(1, ClusterMessageDto.Type.STORED));
+        articleCluster.apply(message(3, ClusterMessageDto.Type.STORED));
+
+        verify(articleService, times(1)).articlesStoredOnPeer(anyList());
+        verify(articleService, times(1)).rebuildLocalState();
+
+        articleCluster.apply(message(5, ClusterMessageDto.Type.HEARTBEAT));
+
+        verify(articleService, times(2)).rebuildLocalState();
+    }
+
+    @Test
+    public void resyncOnFirstContactAfterMissedMessages() {
+        articleCluster.apply(message(0, ClusterMessageDto.Type.HEARTBEAT));
+        verify(articleService, never()).rebuildLocalState();
+
+        articleCluster.apply(new ClusterMessageDto("other", 4, ClusterMessageDto.Type.STORED, List.of()));
+
+        verify(articleService, times(1)).rebuildLocalState();
+        verify(articleService, never()).articlesStoredOnPeer(anyList());
+    }
+}
@@ -0,0 +1,69 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.mapper.ArticleMapperImpl;
+import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.repository.ArticleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleExportServiceTest {
+
+    @InjectMocks
+    private ArticleExportService articleExportService;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ArticleMapper articleMapper = new ArticleMapperImpl();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Article createArticle(Long id) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle("Title" + id);
+        article.setAuthor("Author" + id);
+        article.setContent("Content" + id);
+        article.setPublishingDate(ZonedDateTime.now());
+        return article;
+    }
+
+    @Test
+    public void exportArticlesAsNdjson() throws IOException {
+        Article article1 = createArticle(1L);
+        Article article2 = createArticle(2L);
+        when(articleRepository.streamArticles(null, null)).thenReturn(Stream.of(article1, article2));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        articleExportService.exportArticles(null, null, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\\n");
+        assertEquals(2, lines.length);
+        assertEquals("Title1", objectMapper.readTree(lines[0]).get("title").asText());
+        assertEquals(2L, objectMapper.readTree(lines[1]).get("id").asLong());
+        verify(entityManager).detach(article2);
+    }
+}
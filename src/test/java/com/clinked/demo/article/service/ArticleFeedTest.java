@@ -0,0 +1,259 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.exception.FeedFullException;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArticleFeedTest {
+
+    private final ArticleProperties articleProperties = new ArticleProperties();
+
+    private ArticleFeed articleFeed;
+
+    @BeforeEach
+    public void setUp() {
+        articleProperties.getFeed().setBufferSize(2);
+        articleProperties.getFeed().setHistorySize(4);
+        articleProperties.getFeed().setMaxSubscribers(3000);
+        articleProperties.getFeed().setHeartbeat(Duration.ZERO);
+        articleFeed = new ArticleFeed(articleProperties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        articleFeed.stop();
+    }
+
+    private static ArticleDto article(long id) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setId(id);
+        articleDto.setTitle("Title " + id);
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+        return articleDto;
+    }
+
+    @Test
+    public void pushPublishedArticlesToAllSubscribers() throws Exception {
+        List<RecordingEmitter> emitters = LongStream.range(0, 2000)
+                .mapToObj(i -> new RecordingEmitter())
+                .toList();
+        emitters.forEach(e -> articleFeed.subscribe(e, null));
+
+        articleFeed.publish(article(1));
+
+        for (RecordingEmitter emitter : emitters) {
+            emitter.await(1);
+            assertEquals(List.of(1L), emitter.ids());
+        }
+        assertEquals(2000, articleFeed.getSubscriberCount());
+    }
+
+    @Test
+    public void resumeFromHistory() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        articleFeed.subscribe(first, null);
+        for (int id = 1; id <= 5; id++) {
+            articleFeed.publish(article(id));
+            first.await(id);
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        articleFeed.subscribe(emitter, first.eventIds.get(2));
+        articleFeed.publish(article(6));
+
+        emitter.await(3);
+        assertEquals(List.of(4L, 5L, 6L), emitter.ids());
+    }
+
+    @Test
+    public void resumeInPublishingOrderRatherThanIdOrder() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        articleFeed.subscribe(first, null);
+        articleFeed.publish(article(51));
+        articleFeed.publish(article(2));
+        first.await(2);
+        articleFeed.publish(article(3));
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        articleFeed.subscribe(emitter, first.eventIds.get(0));
+
+        emitter.await(2);
+        assertEquals(List.of(2L, 3L), emitter.ids());
+    }
+
+    @Test
+    public void resetWhenTooManyArticlesWereMissed() throws Exception {
+        RecordingEmitter first = new RecordingEmitter();
+        articleFeed.subscribe(first, null);
+        for (int id = 1; id <= 6; id++) {
+            articleFeed.publish(article(id));
+            first.await(id);
+        }
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        articleFeed.subscribe(emitter, first.eventIds.get(0));
+
+        assertTrue(emitter.events.stream().anyMatch(e -> e.contains("event:" + ArticleFeed.RESET_EVENT)));
+        assertEquals(List.of(), emitter.ids());
+    }
+
+    @Test
+    public void resetOnEventIdOfAnotherFeed() {
+        articleFeed.publish(article(1));
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        articleFeed.subscribe(emitter, "0-0");
+
+        assertTrue(emitter.events.stream().anyMatch(e -> e.contains("event:" + ArticleFeed.RESET_EVENT)));
+        assertEquals(List.of(), emitter.ids());
+    }
+
+    @Test
+    public void evictSlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        articleFeed.subscribe(slow, null);
+        articleFeed.subscribe(fast, null);
+
+        for (int id = 1; id <= 5; id++) {
+            articleFeed.publish(article(id));
+            fast.await(id);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), fast.ids());
+        assertEquals(1, articleFeed.getSubscriberCount());
+        release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L), slow.ids());
+    }
+
+    @Test
+    public void evictStalledWritersWithoutStallingOthers() throws Exception {
+        articleFeed.stop();
+        articleProperties.getFeed().setDispatchThreads(2);
+        articleProperties.getFeed().setWriteTimeout(Duration.ofMillis(100));
+        articleFeed = new ArticleFeed(articleProperties, new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingEmitter> stalled = LongStream.range(0, 3)
+                .mapToObj(i -> new RecordingEmitter(release))
+                .toList();
+        stalled.forEach(e -> articleFeed.subscribe(e, null));
+        articleFeed.publish(article(1));
+        RecordingEmitter fast = new RecordingEmitter();
+        articleFeed.subscribe(fast, null);
+
+        for (int id = 2; id <= 5; id++) {
+            articleFeed.publish(article(id));
+            fast.await(id - 1);
+        }
+
+        assertEquals(List.of(2L, 3L, 4L, 5L), fast.ids());
+        assertEquals(1, articleFeed.getSubscriberCount());
+        release.countDown();
+        for (RecordingEmitter emitter : stalled) {
+            assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void rejectSubscribersBeyondLimit() {
+        articleProperties.getFeed().setMaxSubscribers(1);
+        articleFeed.subscribe(new RecordingEmitter(), null);
+
+        assertThrows(FeedFullException.class, () -> articleFeed.subscribe(new RecordingEmitter(), null));
+        assertEquals(1, articleFeed.getSubscriberCount());
+    }
+
+    /**
+     * Emitter recording the events sent to it, optionally blocking every send
+     * until released to play a slow client
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+
+        private final List<String> eventIds = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(null);
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ie);
+                }
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof ArticleDto articleDto) {
+                    ids.add(articleDto.getId());
+                } else {
+                    event.append(Objects.toString(part.getData()));
+                }
+            });
+            Matcher eventId = EVENT_ID.matcher(event);
+            if (eventId.find()) {
+                eventIds.add(eventId.group(1));
+            }
+            events.add(event.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        private List<Long> ids() {
+            return List.copyOf(ids);
+        }
+
+        private void await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (ids.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+}
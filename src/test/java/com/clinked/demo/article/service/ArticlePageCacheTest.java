@@ -0,0 +1,108 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArticlePageCacheTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.now();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final AtomicInteger counts = new AtomicInteger();
+
+    private ArticlePageCache articlePageCache;
+
+    @BeforeEach
+    public void setUp() {
+        articlePageCache = new ArticlePageCache(new ArticleProperties(), meterRegistry);
+    }
+
+    private ArticleDto article(long id, ZonedDateTime publishingDate) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setId(id);
+        articleDto.setPublishingDate(publishingDate);
+        return articleDto;
+    }
+
+    private Function<Pageable, Page<ArticleDto>> loader(List<ArticleDto> content, long total) {
+        return pageable -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(content, pageable, total);
+        };
+    }
+
+    private Page<ArticleDto> getPage(Pageable pageable, List<ArticleDto> content) {
+        return articlePageCache.getPage(pageable, loader(content, 10), () -> {
+            counts.incrementAndGet();
+            return 11;
+        });
+    }
+
+    @Test
+    public void getPageServesHitsWithoutQueries() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("publishingDate").descending());
+        List<ArticleDto> content = List.of(article(2, NOW), article(1, NOW.minusDays(1)));
+
+        getPage(pageable, content);
+        Page<ArticleDto> result = getPage(pageable, content);
+
+        assertEquals(1, loads.get());
+        assertEquals(0, counts.get());
+        assertEquals(10, result.getTotalElements());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "articlePages").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void articleCreatedEvictsOnlyAffectedPages() {
+        Pageable newest = PageRequest.of(0, 2, Sort.by("publishingDate").descending());
+        Pageable oldest = PageRequest.of(0, 2, Sort.by("publishingDate").ascending());
+        Pageable byContent = PageRequest.of(0, 2, Sort.by("content").ascending());
+        List<ArticleDto> newestContent = List.of(article(9, NOW), article(8, NOW.minusDays(1)));
+        List<ArticleDto> oldestContent = List.of(article(1, NOW.minusDays(9)), article(2, NOW.minusDays(8)));
+
+        getPage(newest, newestContent);
+        getPage(oldest, oldestContent);
+        getPage(byContent, oldestContent);
+        articlePageCache.articleCreated(article(10, NOW.plusMinutes(1)));
+        Page<ArticleDto> result = getPage(oldest, oldestContent);
+        getPage(newest, newestContent);
+        getPage(byContent, oldestContent);
+
+        assertEquals(5, loads.get());
+        assertEquals(1, counts.get());
+        assertEquals(11, result.getTotalElements());
+    }
+
+    @Test
+    public void boundCachedPagesByNumberOfArticles() {
+        ArticleProperties articleProperties = new ArticleProperties();
+        articleProperties.getCache().setMaximumArticles(3);
+        articlePageCache = new ArticlePageCache(articleProperties, meterRegistry);
+        Pageable huge = PageRequest.of(0, 1000, Sort.by("id"));
+        List<ArticleDto> content = List.of(article(1, NOW), article(2, NOW), article(3, NOW), article(4, NOW));
+
+        getPage(huge, content);
+        getPage(huge, content);
+
+        assertEquals(2, loads.get());
+    }
+}
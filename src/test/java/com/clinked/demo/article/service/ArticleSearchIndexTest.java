@@ -0,0 +1,91 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.repository.ArticleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class ArticleSearchIndexTest {
+
+    private final ArticleRepository articleRepository = Mockito.mock(ArticleRepository.class);
+
+    private final ArticleSearchIndex articleSearchIndex = new ArticleSearchIndex(articleRepository,
+            Mockito.mock(EntityManager.class), Mockito.mock(PlatformTransactionManager.class));
+
+    private Article createArticle(Long id, String title, String author, String content) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setAuthor(author);
+        article.setContent(content);
+        article.setPublishingDate(ZonedDateTime.now());
+        return article;
+    }
+
+    @Test
+    public void rankTitleMatchesFirst() {
+        articleSearchIndex.add(createArticle(1L, "Weekly news", "Jane Doe", "Spring release notes"));
+        articleSearchIndex.add(createArticle(2L, "Spring Boot", "John Smith", "What is new"));
+        articleSearchIndex.add(createArticle(3L, "Gardening", "Jane Roe", "Plants in autumn"));
+
+        ArticleSearchIndex.SearchResult result = articleSearchIndex.search("SPRING", null, 0, 10);
+
+        assertEquals(List.of(2L, 1L), result.ids());
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    public void filterByAuthorAndPaginate() {
+        articleSearchIndex.add(createArticle(1L, "One", "Jane Doe", "Content"));
+        articleSearchIndex.add(createArticle(2L, "Two", "Jane Roe", "Content"));
+        articleSearchIndex.add(createArticle(3L, "Three", "Jane Doe", "Content"));
+        articleSearchIndex.add(createArticle(4L, "Four", "John Doe", "Content"));
+
+        assertEquals(List.of(3L, 1L), articleSearchIndex.search(null, "jane doe", 0, 10).ids());
+        assertEquals(List.of(3L), articleSearchIndex.search("content", "doe", 1, 1).ids());
+        assertEquals(3, articleSearchIndex.search("content", "doe", 1, 1).total());
+        assertEquals(List.of(), articleSearchIndex.search("missing", null, 0, 10).ids());
+    }
+
+    @Test
+    public void rebuildFromRepository() {
+        articleSearchIndex.add(createArticle(1L, "Stale", "Author", "Content"));
+        when(articleRepository.streamArticles(null, null))
+                .thenReturn(Stream.of(createArticle(2L, "Fresh", "Author", "Content")));
+
+        articleSearchIndex.rebuild();
+
+        assertEquals(List.of(), articleSearchIndex.search("stale", null, 0, 10).ids());
+        assertEquals(List.of(2L), articleSearchIndex.search("fresh", null, 0, 10).ids());
+    }
+
+    @Test
+    public void keepArticlesAddedDuringRebuild() {
+        Article streamedAndAdded = createArticle(2L, "Both", "Author", "Content");
+        Article added = createArticle(3L, "Added", "Author", "Content");
+        when(articleRepository.streamArticles(null, null))
+                .thenReturn(Stream.of(createArticle(1L, "Stored", "Author", "Content"), streamedAndAdded)
+                        .peek(a -> {
+                            if (a == streamedAndAdded) {
+                                articleSearchIndex.add(streamedAndAdded);
+                                articleSearchIndex.add(added);
+                            }
+                        }));
+
+        articleSearchIndex.rebuild();
+
+        assertEquals(List.of(3L), articleSearchIndex.search("added", null, 0, 10).ids());
+        assertEquals(List.of(2L), articleSearchIndex.search("both", null, 0, 10).ids());
+        assertEquals(3, articleSearchIndex.search("content", null, 0, 10).total());
+        assertEquals(3, articleSearchIndex.getDocumentCount());
+    }
+}
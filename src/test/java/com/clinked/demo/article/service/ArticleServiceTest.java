@@ -1,10 +1,21 @@
 package com.clinked.demo.article.service;
 
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.config.ReplicaRoutingDataSource;
+import com.clinked.demo.article.exception.InvalidCursorException;
+import com.clinked.demo.article.mapper.ArticleMapper;
+import com.clinked.demo.article.mapper.ArticleMapperImpl;
 import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.dto.ArticleFilterDto;
+import com.clinked.demo.article.model.dto.ArticleScrollDto;
 import com.clinked.demo.article.model.dto.StatisticsDayDto;
 import com.clinked.demo.article.model.dto.StatisticsDto;
 import com.clinked.demo.article.model.entity.Article;
+import com.clinked.demo.article.model.projection.PublishingAuthorCount;
+import com.clinked.demo.article.model.projection.PublishingHourCount;
+import com.clinked.demo.article.model.projection.PublishingMinuteCount;
 import com.clinked.demo.article.repository.ArticleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -12,14 +23,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -27,10 +42,24 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,18 +71,37 @@ public class ArticleServiceTest {
     @Mock
     private ArticleRepository articleRepository;
 
+    @Spy
+    private ArticleMapper articleMapper = new ArticleMapperImpl();
+
+    @Spy
+    private DailyPublishingCounter dailyPublishingCounter = new DailyPublishingCounter();
+
+    @Spy
+    private ArticleProperties articleProperties = new ArticleProperties();
+
+    @Spy
+    private ArticlePageCache articlePageCache = new ArticlePageCache(new ArticleProperties(), new SimpleMeterRegistry());
+
     @Mock
-    private ModelMapper mapper;
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private ArticleFeed articleFeed;
+
+    @Mock
+    private ArticleCluster articleCluster;
+
+    @Spy
+    private ArticleDataVersion articleDataVersion = new ArticleDataVersion();
+
+    @Spy
+    private PublishingRateCounter publishingRateCounter = new PublishingRateCounter(new ArticleProperties());
 
     private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
 
-    private Article createNewArticle(ArticleDto articleDto) {
-        Article article = new Article();
-        article.setTitle(articleDto.getTitle());
-        article.setAuthor(articleDto.getAuthor());
-        article.setContent(articleDto.getContent());
-        article.setPublishingDate(articleDto.getPublishingDate());
+    private Article assignId(Article article) {
         Random random = new Random();
         article.setId(Math.abs(random.nextLong() % 1000));
         return article;
@@ -69,14 +117,79 @@ public class ArticleServiceTest {
         return article;
     }
 
-    private ArticleDto getArticleDto(Article article) {
-        ArticleDto articleDto = new ArticleDto();
-        articleDto.setId(article.getId());
-        articleDto.setTitle(article.getTitle());
-        articleDto.setAuthor(article.getAuthor());
-        articleDto.setContent(article.getContent());
-        articleDto.setPublishingDate(article.getPublishingDate());
-        return articleDto;
+    private PublishingMinuteCount minuteCount(ZonedDateTime publishingDate, long count) {
+        ZonedDateTime stored = publishingDate.withZoneSameInstant(ZoneId.systemDefault());
+        return new PublishingMinuteCount() {
+            @Override
+            public LocalDate getDay() {
+                return stored.toLocalDate();
+            }
+
+            @Override
+            public Integer getHour() {
+                return stored.getHour();
+            }
+
+            @Override
+            public Integer getMinute() {
+                return stored.getMinute();
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private PublishingHourCount hourCount(ZonedDateTime publishingDate, long count) {
+        ZonedDateTime stored = publishingDate.withZoneSameInstant(ZoneId.systemDefault());
+        return new PublishingHourCount() {
+            @Override
+            public LocalDate getDay() {
+                return stored.toLocalDate();
+            }
+
+            @Override
+            public Integer getHour() {
+                return stored.getHour();
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private PublishingAuthorCount authorCount(String author, ZonedDateTime publishingDate, long count) {
+        ZonedDateTime stored = publishingDate.withZoneSameInstant(ZoneId.systemDefault());
+        return new PublishingAuthorCount() {
+            @Override
+            public String getAuthor() {
+                return author;
+            }
+
+            @Override
+            public LocalDate getDay() {
+                return stored.toLocalDate();
+            }
+
+            @Override
+            public Integer getHour() {
+                return stored.getHour();
+            }
+
+            @Override
+            public Integer getMinute() {
+                return stored.getMinute();
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
     }
 
     @Test
@@ -87,19 +200,115 @@ public class ArticleServiceTest {
         articleDto.setContent("Content");
         articleDto.setPublishingDate(ZonedDateTime.now());
 
-        Article article = createNewArticle(articleDto);
-
-        when(mapper.map(articleDto, Article.class)).thenReturn(article);
-        when(articleRepository.save(article)).thenReturn(article);
-        when(mapper.map(article, ArticleDto.class)).thenReturn(getArticleDto(article));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> assignId(i.getArgument(0)));
 
         ArticleDto result = articleService.createArticle(articleDto);
 
-        assertEquals(article.getId(), result.getId());
-        assertEquals(article.getTitle(), result.getTitle());
-        assertEquals(article.getAuthor(), result.getAuthor());
-        assertEquals(article.getContent(), result.getContent());
-        assertEquals(article.getPublishingDate(), result.getPublishingDate());
+        assertNotNull(result.getId());
+        assertEquals(articleDto.getTitle(), result.getTitle());
+        assertEquals(articleDto.getAuthor(), result.getAuthor());
+        assertEquals(articleDto.getContent(), result.getContent());
+        assertEquals(articleDto.getPublishingDate(), result.getPublishingDate());
+    }
+
+    @Test
+    public void createArticleUpdatesStatistics() {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle("Title");
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> assignId(i.getArgument(0)));
+
+        articleService.createArticle(articleDto);
+        StatisticsDto result = articleService.getStatistics(null, null);
+
+        assertEquals(7, result.getStatisticsDayDtoList().size());
+        assertEquals(1, result.getStatisticsDayDtoList().stream()
+                .filter(s -> ZonedDateTime.now().format(DateTimeFormatter.ISO_DATE).equals(s.getDate()))
+                .map(StatisticsDayDto::getCount)
+                .findFirst().orElse(0));
+    }
+
+    @Test
+    public void countArticleStoredWhileStatisticsAreRebuilt() throws Exception {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle("Title");
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> {
+            saving.countDown();
+            committed.await();
+            return assignId(i.getArgument(0));
+        });
+        // the rebuild reads the article from the database once it is committed
+        when(articleRepository.countArticlesPerHourSince(any(ZonedDateTime.class)))
+                .thenReturn(List.of(hourCount(articleDto.getPublishingDate(), 1)));
+        when(articleRepository.countArticlesPerAuthorAndMinuteSince(any(ZonedDateTime.class)))
+                .thenReturn(List.of(authorCount("Author", articleDto.getPublishingDate(), 1)));
+        when(articleRepository.countArticlesPerAuthorAndHourSince(any(ZonedDateTime.class)))
+                .thenReturn(List.of(authorCount("Author", articleDto.getPublishingDate(), 1)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> creating = executor.submit(() -> articleService.createArticle(articleDto));
+            assertTrue(saving.await(5, TimeUnit.SECONDS));
+            Future<?> rebuilding = executor.submit(articleService::rebuildStatistics);
+            assertThrows(TimeoutException.class, () -> rebuilding.get(200, TimeUnit.MILLISECONDS));
+
+            committed.countDown();
+            creating.get();
+            rebuilding.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, articleService.getPublishingRates(PublishingRateCounter.Granularity.MINUTE, 60).getTotal());
+        assertEquals(1, articleService.getPublishingRates(PublishingRateCounter.Granularity.HOUR, 24).getTotal());
+        assertEquals(1, articleService.getStatistics(1, null).getStatisticsDayDtoList().get(0).getCount());
+    }
+
+    @Test
+    public void createArticleChangesETag() {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle("Title");
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+        String listETag = articleDataVersion.getETag();
+        String statisticsETag = articleService.getStatisticsETag(null);
+
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> assignId(i.getArgument(0)));
+        articleService.createArticle(articleDto);
+
+        assertNotEquals(listETag, articleDataVersion.getETag());
+        assertNotEquals(statisticsETag, articleService.getStatisticsETag(null));
+    }
+
+    @Test
+    public void replicaLagsAfterWriteUnlessPrimaryIsRequired() {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle("Title");
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+        articleProperties.getReplica().setEnabled(true);
+
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> assignId(i.getArgument(0)));
+        articleService.createArticle(articleDto);
+
+        assertTrue(articleService.isReplicaLagging());
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+        try {
+            assertFalse(articleService.isReplicaLagging());
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryRequired(false);
+        }
     }
 
     @Test
@@ -127,9 +336,7 @@ public class ArticleServiceTest {
         Page<Article> page = new PageImpl<>(articles, PageRequest.of(0, 10,
                 Sort.by("publishingDate").descending()) ,3);
         when(articleRepository.findAll(any(Pageable.class))).thenReturn(page);
-        when(mapper.map(article1, ArticleDto.class)).thenReturn(getArticleDto(article1));
-        when(mapper.map(article2, ArticleDto.class)).thenReturn(getArticleDto(article2));
-        Page<ArticleDto> result = articleService.getArticles(0,10, null, null);
+        Page<ArticleDto> result = articleService.getArticles(0,10, null, null, null);
 
         assertEquals(2L, result.getTotalElements());
         assertEquals(2, result.getContent().size());
@@ -144,46 +351,96 @@ public class ArticleServiceTest {
         Page<Article> page = new PageImpl<>(articles, PageRequest.of(0, 10,
                 Sort.by("publishingDate").descending()) ,0);
         when(articleRepository.findAll(any(Pageable.class))).thenReturn(page);
-        Page<ArticleDto> result = articleService.getArticles(0,10, null, null);
+        Page<ArticleDto> result = articleService.getArticles(0,10, null, null, null);
 
         assertEquals(0L, result.getTotalElements());
         assertEquals(0, result.getContent().size());
     }
 
     @Test
-    public void getStatisticsSuccess() {
+    public void getArticlesFiltered() {
+        Article article1 = createArticle(1L, "1");
+        ArticleFilterDto filter = new ArticleFilterDto();
+        filter.setAuthor("Author1");
+
+        Page<Article> page = new PageImpl<>(List.of(article1), PageRequest.of(0, 10,
+                Sort.by("publishingDate").descending()), 1);
+        when(articleRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+        Page<ArticleDto> result = articleService.getArticles(0, 10, null, null, filter);
+
+        assertEquals(1L, result.getTotalElements());
+        assertEquals("Author1", result.getContent().get(0).getAuthor());
+        verify(articleRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    public void searchArticlesKeepsRanking() {
         Article article1 = createArticle(1L, "1");
-        article1.setPublishingDate(ZonedDateTime.now().minusDays(1));
         Article article2 = createArticle(2L, "2");
-        article2.setPublishingDate(ZonedDateTime.now().minusDays(1));
-        List<Article> articles = Arrays.asList(article1, article2);
 
-        when(articleRepository
-                .findArticleByPublishingDateIsBetweenOrderByPublishingDateAsc(
-                        any(ZonedDateTime.class), any(ZonedDateTime.class)))
-                .thenReturn(articles);
-        StatisticsDto result = articleService.getStatistics();
+        when(articleSearchIndex.search("title", null, 0, 10))
+                .thenReturn(new ArticleSearchIndex.SearchResult(List.of(2L, 1L), 2));
+        when(articleRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(article1, article2));
+        Page<ArticleDto> result = articleService.searchArticles("title", null, null, null);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(ArticleDto::getId).toList());
+    }
+
+    @Test
+    public void scrollArticlesSuccess() {
+        Article article1 = createArticle(1L, "1");
+        Article article2 = createArticle(2L, "2");
+
+        when(articleRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(article2, article1), PageRequest.of(0, 2), true));
+        ArticleScrollDto first = articleService.scrollArticles(null, 2, null);
+
+        assertEquals(2, first.getContent().size());
+        ArticleCursor cursor = ArticleCursor.decode(first.getNextCursor());
+        assertFalse(cursor.ascending());
+        assertEquals(article1.getPublishingDate().toInstant(), cursor.publishingDate().toInstant());
+        assertEquals(1L, cursor.id());
 
+        when(articleRepository.findArticlesBefore(any(ZonedDateTime.class), eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), false));
+        ArticleScrollDto second = articleService.scrollArticles(first.getNextCursor(), 2, null);
 
+        assertEquals(0, second.getContent().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    public void scrollArticlesInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> articleService.scrollArticles("not-a-cursor", 2, null));
+    }
+
+    @Test
+    public void getStatisticsSuccess() {
+        ZonedDateTime yesterday = ZonedDateTime.now().minusDays(1);
+
+        when(articleRepository.countArticlesPerHourSince(any(ZonedDateTime.class)))
+                .thenReturn(List.of(hourCount(yesterday, 2)));
+        articleService.rebuildStatistics();
+        StatisticsDto result = articleService.getStatistics(null, null);
+
+        assertEquals(7, result.getStatisticsDayDtoList().size());
         assertEquals(0, result.getStatisticsDayDtoList().stream()
                 .filter(s -> ZonedDateTime.now().minusDays(2).format(DateTimeFormatter.ISO_DATE).equals(s.getDate()))
                 .map(StatisticsDayDto::getCount)
                 .findFirst().orElse(0));
         assertEquals(2, result.getStatisticsDayDtoList().stream()
-                .filter(s -> ZonedDateTime.now().minusDays(1).format(DateTimeFormatter.ISO_DATE).equals(s.getDate()))
+                .filter(s -> yesterday.format(DateTimeFormatter.ISO_DATE).equals(s.getDate()))
                 .map(StatisticsDayDto::getCount)
                 .findFirst().orElse(0));
     }
 
     @Test
     public void getStatisticsEmpty() {
-        List<Article> articles = new ArrayList<>();
-
-        when(articleRepository
-                .findArticleByPublishingDateIsBetweenOrderByPublishingDateAsc(
-                        any(ZonedDateTime.class), any(ZonedDateTime.class)))
-                .thenReturn(articles);
-        StatisticsDto result = articleService.getStatistics();
+        when(articleRepository.countArticlesPerHourSince(any(ZonedDateTime.class)))
+                .thenReturn(new ArrayList<>());
+        articleService.rebuildStatistics();
+        StatisticsDto result = articleService.getStatistics(null, null);
 
 
         assertEquals(0, result.getStatisticsDayDtoList().stream()
@@ -195,4 +452,33 @@ public class ArticleServiceTest {
                 .map(StatisticsDayDto::getCount)
                 .findFirst().orElse(0));
     }
+
+    @Test
+    public void getStatisticsWindowAndZone() {
+        ZoneId zone = ZoneId.of("Asia/Tokyo");
+        ZonedDateTime twentyDaysAgo = ZonedDateTime.now(zone).minusDays(20).withHour(0).withMinute(30);
+
+        when(articleRepository.countArticlesPerHourSince(any(ZonedDateTime.class)))
+                .thenReturn(List.of(hourCount(twentyDaysAgo, 3)));
+        StatisticsDto result = articleService.getStatistics(30, zone.getId());
+
+        assertEquals(30, result.getStatisticsDayDtoList().size());
+        assertEquals(3, result.getStatisticsDayDtoList().stream()
+                .filter(s -> twentyDaysAgo.format(DateTimeFormatter.ISO_DATE).equals(s.getDate()))
+                .map(StatisticsDayDto::getCount)
+                .findFirst().orElse(0));
+    }
+
+    @Test
+    public void getStatisticsInZoneWithHalfHourOffset() {
+        ZoneId zone = ZoneId.of("Asia/Kolkata");
+        ZonedDateTime midnight = LocalDate.now(zone).atStartOfDay(zone);
+
+        when(articleRepository.countArticlesPerMinuteSince(any(ZonedDateTime.class)))
+                .thenReturn(List.of(minuteCount(midnight.minusMinutes(10), 2), minuteCount(midnight.plusMinutes(10), 3)));
+        StatisticsDto result = articleService.getStatistics(2, zone.getId());
+
+        assertEquals(List.of(2, 3), result.getStatisticsDayDtoList().stream().map(StatisticsDayDto::getCount).toList());
+        verify(articleRepository, never()).countArticlesPerHourSince(any(ZonedDateTime.class));
+    }
 }
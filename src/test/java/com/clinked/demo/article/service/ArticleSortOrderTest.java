@@ -0,0 +1,29 @@
+package com.clinked.demo.article.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ArticleSortOrderTest {
+
+    @Test
+    public void resolveSortableFields() {
+        assertSame(ArticleSortOrder.PUBLISHING_DATE, ArticleSortOrder.of(null));
+        assertSame(ArticleSortOrder.PUBLISHING_DATE, ArticleSortOrder.of(""));
+        assertSame(ArticleSortOrder.TITLE, ArticleSortOrder.of("title"));
+        assertNull(ArticleSortOrder.of("content"));
+        assertNull(ArticleSortOrder.of("publishingdate"));
+    }
+
+    @Test
+    public void breakTiesById() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "publishingDate", "id"),
+                ArticleSortOrder.PUBLISHING_DATE.getSort(false));
+        assertEquals(Sort.by(Sort.Direction.ASC, "title", "id"), ArticleSortOrder.TITLE.getSort(true));
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), ArticleSortOrder.ID.getSort(false));
+        assertSame(ArticleSortOrder.TITLE.getSort(true), ArticleSortOrder.TITLE.getSort(true));
+    }
+}
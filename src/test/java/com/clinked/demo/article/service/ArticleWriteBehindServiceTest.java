@@ -0,0 +1,155 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.exception.WriteQueueFullException;
+import com.clinked.demo.article.mapper.ArticleMapperImpl;
+import com.clinked.demo.article.model.dto.ArticleDto;
+import com.clinked.demo.article.model.entity.Article;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ArticleWriteBehindServiceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+
+    private final ArticleService articleService = Mockito.mock(ArticleService.class);
+
+    private final BlockingQueue<List<Article>> stored = new LinkedBlockingQueue<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final ArticleProperties articleProperties = new ArticleProperties();
+
+    private ArticleWriteBehindService articleWriteBehindService;
+
+    @BeforeEach
+    public void setUp() {
+        AtomicLong ids = new AtomicLong();
+        ArticleIdGenerator articleIdGenerator = Mockito.mock(ArticleIdGenerator.class);
+        when(articleIdGenerator.assignId(any())).thenAnswer(invocation -> {
+            Article article = invocation.getArgument(0);
+            article.setId(ids.incrementAndGet());
+            return article;
+        });
+        doAnswer(invocation -> {
+            Supplier<List<Article>> store = invocation.getArgument(0);
+            stored.add(store.get());
+            return null;
+        }).when(articleService).articlesStored(any());
+        articleProperties.getWriteBehind().setLog(tempDir.resolve("write-behind.log"));
+        articleProperties.getWriteBehind().setQueueCapacity(1);
+        articleWriteBehindService = new ArticleWriteBehindService(new ArticleMapperImpl(), articleIdGenerator,
+                articleService, jdbcTemplate,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                objectMapper, articleProperties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        articleWriteBehindService.stop();
+    }
+
+    private ArticleDto createArticleDto(String title) {
+        ArticleDto articleDto = new ArticleDto();
+        articleDto.setTitle(title);
+        articleDto.setAuthor("Author");
+        articleDto.setContent("Content");
+        articleDto.setPublishingDate(ZonedDateTime.now());
+        return articleDto;
+    }
+
+    @Test
+    public void writeQueuedArticleAndTruncateLog() throws Exception {
+        articleWriteBehindService.start();
+
+        ArticleDto accepted = articleWriteBehindService.enqueue(createArticleDto("Title"));
+
+        assertEquals(1L, accepted.getId());
+        assertEquals(1L, stored.poll(5, TimeUnit.SECONDS).get(0).getId());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), anyList());
+        waitUntilLogEmpty();
+    }
+
+    @Test
+    public void rejectWhenQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return new int[0];
+        });
+        articleWriteBehindService.start();
+
+        articleWriteBehindService.enqueue(createArticleDto("Writing"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        articleWriteBehindService.enqueue(createArticleDto("Queued"));
+
+        assertThrows(WriteQueueFullException.class,
+                () -> articleWriteBehindService.enqueue(createArticleDto("Rejected")));
+        release.countDown();
+    }
+
+    @Test
+    public void recoverLoggedArticlesOnStart() throws Exception {
+        ArticleDto logged = createArticleDto("Logged");
+        logged.setId(7L);
+        Files.writeString(articleProperties.getWriteBehind().getLog(),
+                objectMapper.writeValueAsString(logged) + "\n{\"id\":8,\"title\":\"Tor",
+                StandardCharsets.UTF_8);
+
+        articleWriteBehindService.start();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("MERGE"), captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(7L, captor.getValue().get(0)[0]);
+        verify(articleService).rebuildState();
+        assertEquals(0, Files.size(articleProperties.getWriteBehind().getLog()));
+    }
+
+    private void waitUntilLogEmpty() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(articleProperties.getWriteBehind().getLog()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, Files.size(articleProperties.getWriteBehind().getLog()));
+    }
+}
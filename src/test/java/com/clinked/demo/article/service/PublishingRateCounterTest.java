@@ -0,0 +1,125 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.service.PublishingRateCounter.AuthorCount;
+import com.clinked.demo.article.service.PublishingRateCounter.AuthorPeriodCount;
+import com.clinked.demo.article.service.PublishingRateCounter.Granularity;
+import com.clinked.demo.article.service.PublishingRateCounter.PeriodCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PublishingRateCounterTest {
+
+    private PublishingRateCounter publishingRateCounter;
+
+    @BeforeEach
+    public void setUp() {
+        ArticleProperties articleProperties = new ArticleProperties();
+        articleProperties.getStatistics().setMinuteBuckets(120);
+        articleProperties.getStatistics().setHourBuckets(48);
+        publishingRateCounter = new PublishingRateCounter(articleProperties);
+    }
+
+    private static long total(List<PeriodCount> counts) {
+        return counts.stream().mapToLong(PeriodCount::count).sum();
+    }
+
+    @Test
+    public void countPerMinuteAndHour() {
+        Instant now = Instant.now();
+        publishingRateCounter.increment(now.minus(5, ChronoUnit.MINUTES), "Author");
+        publishingRateCounter.increment(now.minus(5, ChronoUnit.MINUTES), "Author");
+        publishingRateCounter.increment(now.minus(90, ChronoUnit.MINUTES), "Author");
+
+        List<PeriodCount> minutes = publishingRateCounter.getCounts(Granularity.MINUTE, 60);
+        List<PeriodCount> hours = publishingRateCounter.getCounts(Granularity.HOUR, 24);
+
+        assertEquals(60, minutes.size());
+        assertEquals(2, total(minutes));
+        assertEquals(3, total(publishingRateCounter.getCounts(Granularity.MINUTE, 120)));
+        assertEquals(24, hours.size());
+        assertEquals(3, total(hours));
+        assertEquals(ChronoUnit.MINUTES.getDuration().getSeconds(),
+                minutes.get(1).start().getEpochSecond() - minutes.get(0).start().getEpochSecond());
+    }
+
+    @Test
+    public void ignoreArticlesOutsideReach() {
+        Instant now = Instant.now();
+        publishingRateCounter.increment(now.plus(2, ChronoUnit.HOURS), "Future");
+        publishingRateCounter.increment(now.minus(3, ChronoUnit.HOURS), "Old");
+
+        assertEquals(0, total(publishingRateCounter.getCounts(Granularity.MINUTE, 120)));
+        assertEquals(1, total(publishingRateCounter.getCounts(Granularity.HOUR, 48)));
+    }
+
+    @Test
+    public void rankTopAuthors() {
+        Instant now = Instant.now().minus(1, ChronoUnit.MINUTES);
+        publishingRateCounter.increment(now, "Carol");
+        publishingRateCounter.increment(now, "Bob");
+        publishingRateCounter.increment(now, "Alice");
+        publishingRateCounter.increment(now, "Bob");
+
+        List<AuthorCount> top = publishingRateCounter.getTopAuthors(Granularity.MINUTE, 60, 2);
+
+        assertEquals(List.of(new AuthorCount("Bob", 2), new AuthorCount("Alice", 1)), top);
+    }
+
+    @Test
+    public void resetReplacesCounts() {
+        Instant now = Instant.now();
+        publishingRateCounter.increment(now, "Author");
+
+        publishingRateCounter.reset(Granularity.HOUR, List.of(
+                new AuthorPeriodCount(now.minus(2, ChronoUnit.HOURS), "Rebuilt", 4)));
+
+        assertEquals(4, total(publishingRateCounter.getCounts(Granularity.HOUR, 48)));
+        assertEquals(List.of(new AuthorCount("Rebuilt", 4)),
+                publishingRateCounter.getTopAuthors(Granularity.HOUR, 48, 10));
+        assertEquals(1, total(publishingRateCounter.getCounts(Granularity.MINUTE, 120)));
+    }
+
+    @Test
+    public void countConcurrentIncrements() throws Exception {
+        Instant published = Instant.now().minus(10, ChronoUnit.MINUTES);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                String author = "Author" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        publishingRateCounter.increment(published, author);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(40_000, total(publishingRateCounter.getCounts(Granularity.MINUTE, 60)));
+        assertEquals(10_000, publishingRateCounter.getTopAuthors(Granularity.MINUTE, 60, 1).get(0).count());
+    }
+
+    @Test
+    public void resolveGranularity() {
+        assertEquals(Granularity.MINUTE, Granularity.of(null));
+        assertEquals(Granularity.HOUR, Granularity.of("Hour"));
+        assertNull(Granularity.of("week"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.clinked.demo.article.service;
+
+import com.clinked.demo.article.config.ArticleProperties;
+import com.clinked.demo.article.config.CachingJwtDecoder;
+import com.clinked.demo.article.model.dto.TokenDto;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TokenServiceTest {
+
+    private final ArticleProperties articleProperties = new ArticleProperties();
+
+    private final SecretKey key = createKey();
+
+    private final TokenService tokenService =
+            new TokenService(new NimbusJwtEncoder(new ImmutableSecret<>(key)), articleProperties);
+
+    private static SecretKey createKey() {
+        try {
+            return KeyGenerator.getInstance("HmacSHA256").generateKey();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TokenDto issueAdminToken() {
+        return tokenService.issueToken(UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN")));
+    }
+
+    @Test
+    public void issueSignedTokenWithRoles() {
+        articleProperties.getSecurity().setTokenTimeToLive(Duration.ofMinutes(5));
+
+        TokenDto tokenDto = issueAdminToken();
+
+        assertEquals("Bearer", tokenDto.getTokenType());
+        assertEquals(300, tokenDto.getExpiresIn());
+        Jwt jwt = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build()
+                .decode(tokenDto.getToken());
+        assertEquals("admin", jwt.getSubject());
+        assertEquals(List.of("USER", "ADMIN"), jwt.getClaimAsStringList(TokenService.ROLES_CLAIM));
+        assertEquals(Duration.ofMinutes(5), Duration.between(jwt.getIssuedAt(), jwt.getExpiresAt()));
+    }
+
+    @Test
+    public void verifyEachTokenOnce() {
+        JwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        AtomicInteger verifications = new AtomicInteger();
+        JwtDecoder delegate = token -> {
+            verifications.incrementAndGet();
+            return nimbusJwtDecoder.decode(token);
+        };
+        CachingJwtDecoder jwtDecoder = new CachingJwtDecoder(delegate, 10, new SimpleMeterRegistry());
+        String token = issueAdminToken().getToken();
+
+        assertEquals("admin", jwtDecoder.decode(token).getSubject());
+        assertEquals("admin", jwtDecoder.decode(token).getSubject());
+        assertEquals(1, verifications.get());
+
+        String forged = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(forged));
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(forged));
+        assertEquals(3, verifications.get());
+    }
+}